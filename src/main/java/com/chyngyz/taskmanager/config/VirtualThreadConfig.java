@@ -0,0 +1,47 @@
+package com.chyngyz.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true}, where Tomcat serves each
+ * request on its own virtual thread. Gates the Hikari pool behind as many permits as
+ * it has connections and reports pinned virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    static BeanPostProcessor connectionPermitPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    logger.info("Limiting data source '{}' to {} concurrent connections", beanName,
+                            hikari.getMaximumPoolSize());
+                    return new ConnectionPermitDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    PinnedThreadMonitor pinnedThreadMonitor(
+            @Value("${taskmanager.virtual-threads.pinned-threshold:PT0.02S}") Duration threshold) {
+        return new PinnedThreadMonitor(threshold);
+    }
+}
@@ -0,0 +1,28 @@
+package com.chyngyz.taskmanager.controller;
+
+import com.chyngyz.taskmanager.dto.ActivityLogStatsResponse;
+import com.chyngyz.taskmanager.service.ActivityLogWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/api/activity")
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final ActivityLogWriter activityLogWriter;
+    private static final Logger logger = LoggerFactory.getLogger(ActivityController.class);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<ActivityLogStatsResponse> getStats() {
+        logger.info("Fetching activity log writer statistics");
+        return ResponseEntity.ok(activityLogWriter.getStats());
+    }
+}
@@ -0,0 +1,30 @@
+package com.chyngyz.taskmanager.controller;
+
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * A write that lost an optimistic version check, or whose {@code If-Match} no longer
+ * names the current representation, is answered with 412 so the client can re-read
+ * and retry.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<ProblemDetail> handleVersionConflict(RuntimeException e) {
+        logger.warn("Rejected stale write: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED,
+                        "The resource was modified by another request"));
+    }
+}
@@ -43,7 +43,7 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<?> logout(@RequestBody LogoutRequest request) {
-        logger.info("Logout called with refreshToken: {}", request.getRefreshToken());
+        logger.info("Logout called");
         authService.logout(request.getRefreshToken());
         return ResponseEntity.ok("Logged out successfully");
     }
@@ -0,0 +1,28 @@
+package com.chyngyz.taskmanager.controller;
+
+import com.chyngyz.taskmanager.dto.CacheStatsResponse;
+import com.chyngyz.taskmanager.service.CacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheService cacheService;
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        logger.info("Fetching second-level cache statistics");
+        return ResponseEntity.ok(cacheService.getStats());
+    }
+}
@@ -0,0 +1,23 @@
+package com.chyngyz.taskmanager.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Body-less 304 for handlers that revalidate with {@code WebRequest#checkNotModified},
+ * which has already written the status and ETag. Responses carry {@code no-cache}
+ * because Spring Security otherwise adds {@code no-store}, which keeps clients from
+ * holding the representation they are revalidating.
+ */
+final class NotModified {
+
+    private NotModified() {
+    }
+
+    static <T> ResponseEntity<T> response() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.chyngyz.taskmanager.controller;
+
+import com.chyngyz.taskmanager.dto.OutboxStatsResponse;
+import com.chyngyz.taskmanager.service.WebhookDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/api/outbox")
+@RequiredArgsConstructor
+public class OutboxController {
+
+    private final WebhookDispatcher webhookDispatcher;
+    private static final Logger logger = LoggerFactory.getLogger(OutboxController.class);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<OutboxStatsResponse> getStats() {
+        logger.info("Fetching webhook outbox statistics");
+        return ResponseEntity.ok(webhookDispatcher.getStats());
+    }
+}
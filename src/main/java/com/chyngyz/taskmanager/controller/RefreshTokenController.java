@@ -0,0 +1,28 @@
+package com.chyngyz.taskmanager.controller;
+
+import com.chyngyz.taskmanager.dto.RefreshTokenStatsResponse;
+import com.chyngyz.taskmanager.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/api/refresh-tokens")
+@RequiredArgsConstructor
+public class RefreshTokenController {
+
+    private final RefreshTokenService refreshTokenService;
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenController.class);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<RefreshTokenStatsResponse> getStats() {
+        logger.info("Fetching refresh token statistics");
+        return ResponseEntity.ok(refreshTokenService.getStats());
+    }
+}
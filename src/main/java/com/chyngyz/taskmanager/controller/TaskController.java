@@ -1,16 +1,47 @@
 package com.chyngyz.taskmanager.controller;
 
+import com.chyngyz.taskmanager.dto.ActivityEntryResponse;
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.BulkAssignRequest;
+import com.chyngyz.taskmanager.dto.BulkStatusRequest;
+import com.chyngyz.taskmanager.dto.BulkTaskResponse;
+import com.chyngyz.taskmanager.dto.BulkUpdateResponse;
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TaskImportResult;
+import com.chyngyz.taskmanager.dto.TaskPatchRequest;
 import com.chyngyz.taskmanager.dto.TaskRequest;
 import com.chyngyz.taskmanager.dto.TaskResponse;
 import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.service.ActivityLogService;
+import com.chyngyz.taskmanager.service.TaskImportFormat;
+import com.chyngyz.taskmanager.service.TaskImportService;
 import com.chyngyz.taskmanager.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 
 
 
@@ -20,6 +51,9 @@ import org.slf4j.LoggerFactory;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
+    private final ObjectMapper objectMapper;
+    private final ActivityLogService activityLogService;
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
     @PostMapping
@@ -28,8 +62,27 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(request));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> createTasks(@RequestBody List<TaskRequest> requests) {
+        logger.info("Bulk creating {} tasks", requests.size());
+        return ResponseEntity.ok(taskService.createTasks(requests));
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<TaskImportResult> importTasks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(defaultValue = "" + TaskImportService.DEFAULT_BATCH_SIZE) int batchSize,
+            InputStream body
+    ) throws IOException {
+        TaskImportFormat format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? TaskImportFormat.CSV
+                : TaskImportFormat.NDJSON;
+        logger.info("Importing tasks as {} with batch size {}", format, batchSize);
+        return ResponseEntity.ok(taskImportService.importTasks(body, format, batchSize));
+    }
+
     @GetMapping
-    public Page<TaskResponse> getTasks(
+    public ResponseEntity<Page<TaskResponse>> getTasks(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) Integer priority,
@@ -38,17 +91,118 @@ public class TaskController {
             @RequestParam(required = false) Long teamId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt") String sort
+            @RequestParam(defaultValue = "createdAt") String sort,
+            WebRequest webRequest
     ) {
         logger.info("Fetching tasks with filters: category={}, status={}, priority={}, teamId={}", category, status, priority, teamId);
-        return taskService.getTasks(category, status, priority, assignedToId, createdById, teamId, page, size, sort);
+        TaskFilter filter = new TaskFilter(category, status, priority, assignedToId, createdById, teamId);
+        String eTag = taskService.getTasksETag(filter, page, size, sort);
+        if (webRequest.checkNotModified(eTag)) {
+            return NotModified.response();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(taskService.getTasks(category, status, priority, assignedToId, createdById, teamId, page, size, sort));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Integer priority,
+            @RequestParam(required = false) Long assignedToId,
+            @RequestParam(required = false) Long createdById,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        logger.info("Exporting tasks as {} with filters: category={}, status={}, priority={}, teamId={}",
+                format, category, status, priority, teamId);
+        TaskFilter filter = new TaskFilter(category, status, priority, assignedToId, createdById, teamId);
+
+        StreamingResponseBody body;
+        MediaType contentType;
+        if ("csv".equalsIgnoreCase(format)) {
+            contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            body = out -> {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                writer.write(TaskCsv.HEADER);
+                taskService.exportTasks(filter, task -> {
+                    try {
+                        writer.write(TaskCsv.row(task));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            };
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            contentType = MediaType.parseMediaType("application/x-ndjson");
+            ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+            body = out -> taskService.exportTasks(filter, task -> {
+                try {
+                    out.write(writer.writeValueAsBytes(task));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format.toLowerCase() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public Page<TaskResponse> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        logger.info("Searching tasks: q={}, teamId={}", q, teamId);
+        return taskService.searchTasks(q, teamId, page, size);
+    }
+
+    @GetMapping("/cursor")
+    public CursorPage<TaskResponse> getTasksAfter(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Integer priority,
+            @RequestParam(required = false) Long assignedToId,
+            @RequestParam(required = false) Long createdById,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction
+    ) {
+        logger.info("Fetching tasks by cursor: sort={}, direction={}, size={}", sort, direction, size);
+        TaskFilter filter = new TaskFilter(category, status, priority, assignedToId, createdById, teamId);
+        return taskService.getTasksAfter(filter, after, size, sort, direction);
     }
 
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id, @RequestBody TaskRequest request) {
+    public ResponseEntity<TaskResponse> updateTask(
+            @PathVariable Long id,
+            @RequestBody TaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Updating task with id: {}", id);
-        return ResponseEntity.ok(taskService.updateTask(id, request));
+        return versioned(taskService.updateTask(id, request, TaskVersionTags.expectedVersion(ifMatch)));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long id,
+            @RequestBody TaskPatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("Patching task with id: {}", id);
+        return versioned(taskService.patchTask(id, patch, TaskVersionTags.expectedVersion(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
@@ -59,24 +213,62 @@ public class TaskController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, WebRequest webRequest) {
         logger.info("Getting task by id: {}", id);
-        return ResponseEntity.ok(taskService.getTaskById(id));
+        String eTag = TaskVersionTags.of(taskService.getTaskVersion(id));
+        if (webRequest.checkNotModified(eTag)) {
+            return NotModified.response();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(taskService.getTaskById(id));
+    }
+
+    @GetMapping("/{id}/history")
+    public CursorPage<ActivityEntryResponse> getTaskHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Fetching history of task id: {}", id);
+        return activityLogService.getHistory(ActivitySubject.TASK, id, after, size);
+    }
+
+    @PatchMapping("/status")
+    public ResponseEntity<BulkUpdateResponse> updateTaskStatuses(@RequestBody BulkStatusRequest request) {
+        logger.info("Bulk updating task status to {}", request.getStatus());
+        return ResponseEntity.ok(taskService.updateTaskStatuses(request));
+    }
+
+    @PatchMapping("/assign")
+    public ResponseEntity<BulkUpdateResponse> assignTasks(@RequestBody BulkAssignRequest request) {
+        logger.info("Bulk assigning tasks to userId: {}", request.getUserId());
+        return ResponseEntity.ok(taskService.assignTasks(request));
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<TaskResponse> updateTaskStatus(
             @PathVariable Long id,
-            @RequestParam TaskStatus status) {
+            @RequestParam TaskStatus status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Updating task status. id: {}, new status: {}", id, status);
-        return ResponseEntity.ok(taskService.updateTaskStatus(id, status));
+        return versioned(taskService.updateTaskStatus(id, status, TaskVersionTags.expectedVersion(ifMatch)));
     }
 
     @PatchMapping("/{id}/assign")
     public ResponseEntity<TaskResponse> assignTask(
             @PathVariable Long id,
-            @RequestParam Long userId) {
+            @RequestParam Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Assigning task id: {} to userId: {}", id, userId);
-        return ResponseEntity.ok(taskService.assignTask(id, userId));
+        return versioned(taskService.assignTask(id, userId, TaskVersionTags.expectedVersion(ifMatch)));
+    }
+
+    private static ResponseEntity<TaskResponse> versioned(TaskResponse task) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (task.getVersion() != null) {
+            response.eTag(TaskVersionTags.of(task.getVersion()));
+        }
+        return response.body(task);
     }
 }
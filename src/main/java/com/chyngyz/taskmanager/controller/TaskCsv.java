@@ -0,0 +1,46 @@
+package com.chyngyz.taskmanager.controller;
+
+import com.chyngyz.taskmanager.dto.TaskResponse;
+
+import java.util.StringJoiner;
+
+/**
+ * RFC 4180 rows for the task export. Fields holding a comma, quote or line break
+ * are quoted with inner quotes doubled; nulls become empty fields.
+ */
+final class TaskCsv {
+
+    static final String HEADER = "id,title,description,status,priority,category,createdById,"
+            + "assignedToId,teamId,deadline,createdAt,updatedAt\r\n";
+
+    private TaskCsv() {
+    }
+
+    static String row(TaskResponse task) {
+        StringJoiner row = new StringJoiner(",", "", "\r\n");
+        row.add(field(task.getId()));
+        row.add(field(task.getTitle()));
+        row.add(field(task.getDescription()));
+        row.add(field(task.getStatus()));
+        row.add(field(task.getPriority()));
+        row.add(field(task.getCategory()));
+        row.add(field(task.getCreatedById()));
+        row.add(field(task.getAssignedToId()));
+        row.add(field(task.getTeamId()));
+        row.add(field(task.getDeadline()));
+        row.add(field(task.getCreatedAt()));
+        row.add(field(task.getUpdatedAt()));
+        return row.toString();
+    }
+
+    private static String field(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
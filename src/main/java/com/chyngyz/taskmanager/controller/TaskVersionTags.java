@@ -0,0 +1,44 @@
+package com.chyngyz.taskmanager.controller;
+
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Task ETags are the quoted {@code version} column, so an {@code If-Match} header can
+ * be turned back into the version a write must apply to.
+ */
+final class TaskVersionTags {
+
+    private TaskVersionTags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version required by {@code If-Match}, or {@code null} when the
+     * header is absent or {@code *}. Anything that cannot match a task ETag, including
+     * weak tags, fails the precondition.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() == 1 && tags.get(0).isWildcard()) {
+            return null;
+        }
+        if (tags.size() == 1 && !tags.get(0).weak()) {
+            try {
+                return Long.valueOf(tags.get(0).tag());
+            } catch (NumberFormatException ignored) {
+                // falls through to the 412 below
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not name a task version");
+    }
+}
@@ -1,16 +1,26 @@
 package com.chyngyz.taskmanager.controller;
 
+import com.chyngyz.taskmanager.dto.ActivityEntryResponse;
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.CursorPage;
 import com.chyngyz.taskmanager.dto.TeamRequest;
 import com.chyngyz.taskmanager.dto.TeamResponse;
+import com.chyngyz.taskmanager.dto.TeamStatsResponse;
+import com.chyngyz.taskmanager.service.ActivityLogService;
 import com.chyngyz.taskmanager.service.TeamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
 import java.util.Set;
 
 @RestController
@@ -19,6 +29,7 @@ import java.util.Set;
 public class TeamController {
 
     private final TeamService teamService;
+    private final ActivityLogService activityLogService;
     private static final Logger logger = LoggerFactory.getLogger(TeamController.class);
 
 
@@ -30,22 +41,59 @@ public class TeamController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TeamResponse>> getAllTeams() {
-        logger.info("Fetching all teams");
-        return ResponseEntity.ok(teamService.getAllTeams());
+    public ResponseEntity<Page<TeamResponse>> getAllTeams(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        logger.info("Fetching teams page: {}, size: {}", page, size);
+        return ResponseEntity.ok(teamService.getAllTeams(page, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TeamResponse> getTeamById(@PathVariable Long id) {
+    public ResponseEntity<TeamResponse> getTeamById(@PathVariable Long id, WebRequest webRequest) {
         logger.info("Fetching team by id: {}", id);
-        return ResponseEntity.ok(teamService.getTeamById(id));
+        String eTag = teamService.getTeamETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return NotModified.response();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(teamService.getTeamById(id));
+    }
+
+    @GetMapping("/{id}/history")
+    public CursorPage<ActivityEntryResponse> getTeamHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Fetching history of team id: {}", id);
+        return activityLogService.getHistory(ActivitySubject.TEAM, id, after, size);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<TeamStatsResponse> getTeamStats(@PathVariable Long id) {
+        logger.info("Fetching task stats for team id: {}", id);
+        return ResponseEntity.ok(teamService.getTeamStats(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(
+            @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        logger.info("Streaming task events for team id: {}", id);
+        return teamService.subscribeToTaskEvents(id, lastEventId);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @PutMapping("/{id}")
-    public ResponseEntity<TeamResponse> updateTeam(@PathVariable Long id, @RequestBody TeamRequest request) {
+    public ResponseEntity<TeamResponse> updateTeam(
+            @PathVariable Long id,
+            @RequestBody TeamRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Updating team id: {} with name: {}", id, request.getName());
-        return ResponseEntity.ok(teamService.updateTeam(id, request));
+        return ResponseEntity.ok(teamService.updateTeam(id, request, ifMatch));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -1,13 +1,20 @@
 package com.chyngyz.taskmanager.controller;
 
+import com.chyngyz.taskmanager.dto.CursorPage;
 import com.chyngyz.taskmanager.dto.UserResponse;
 import com.chyngyz.taskmanager.dto.UserRequest;
 import com.chyngyz.taskmanager.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,13 +24,34 @@ import org.slf4j.LoggerFactory;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        logger.info("Fetching all users");
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<CursorPage<UserResponse>> getUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        logger.info("Fetching users after id: {}, prefix: {}, size: {}", after, q, size);
+        return ResponseEntity.ok(userService.getUsers(after, q, size));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        logger.info("Streaming all users");
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class);
+        StreamingResponseBody body = out -> userService.streamUsers(user -> {
+            try {
+                out.write(writer.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     @GetMapping("/{id}")
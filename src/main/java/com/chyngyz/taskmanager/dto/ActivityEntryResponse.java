@@ -0,0 +1,19 @@
+package com.chyngyz.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ActivityEntryResponse {
+    private Long id;
+    private String action;
+    private String actor;
+    // Stored as JSON and passed through without being parsed
+    @JsonRawValue
+    private String changes;
+    private LocalDateTime occurredAt;
+}
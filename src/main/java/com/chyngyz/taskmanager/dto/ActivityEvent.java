@@ -0,0 +1,13 @@
+package com.chyngyz.taskmanager.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One entry of the activity log: who did what to a task or team. {@code changes} maps
+ * each changed field to its {@code from} and {@code to} values; {@code from} is left
+ * out when the write did not read the previous value.
+ */
+public record ActivityEvent(ActivitySubject subject, Long subjectId, String action, String actor,
+                            Map<String, Map<String, Object>> changes, LocalDateTime occurredAt) {
+}
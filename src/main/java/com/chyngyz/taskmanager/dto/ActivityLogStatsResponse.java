@@ -0,0 +1,18 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ActivityLogStatsResponse {
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueued;
+    private long producerWaits;
+    private long dropped;
+    private long written;
+    private long failed;
+    private long batches;
+    private int lastBatchSize;
+}
@@ -0,0 +1,6 @@
+package com.chyngyz.taskmanager.dto;
+
+public enum ActivitySubject {
+    TASK,
+    TEAM
+}
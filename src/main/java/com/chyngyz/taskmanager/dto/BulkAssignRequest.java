@@ -0,0 +1,15 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Targets tasks either by {@code ids} or by {@code filter}; exactly one must be set.
+ */
+@Data
+public class BulkAssignRequest {
+    private List<Long> ids;
+    private TaskFilter filter;
+    private Long userId;
+}
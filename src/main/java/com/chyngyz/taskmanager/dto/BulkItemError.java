@@ -0,0 +1,11 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkItemError {
+    private long index;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.chyngyz.taskmanager.dto;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Targets tasks either by {@code ids} or by {@code filter}; exactly one must be set.
+ */
+@Data
+public class BulkStatusRequest {
+    private List<Long> ids;
+    private TaskFilter filter;
+    private TaskStatus status;
+}
@@ -0,0 +1,13 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkTaskResponse {
+    private List<TaskResponse> created;
+    private List<BulkItemError> errors;
+}
@@ -0,0 +1,10 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    private long updated;
+}
@@ -0,0 +1,13 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheRegionStats {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+}
@@ -0,0 +1,18 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CacheStatsResponse {
+    private long secondLevelHits;
+    private long secondLevelMisses;
+    private long secondLevelPuts;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private long queryCachePuts;
+    private List<CacheRegionStats> regions;
+}
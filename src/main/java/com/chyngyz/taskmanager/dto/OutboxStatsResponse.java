@@ -0,0 +1,14 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class OutboxStatsResponse {
+    private long pending;
+    private long oldestPendingAgeMillis;
+    private long lastDeliveryLagMillis;
+    private long delivered;
+    private long failedAttempts;
+}
@@ -0,0 +1,19 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class RefreshTokenStatsResponse {
+    private long rows;
+    private long active;
+    private long purged;
+    private LocalDateTime lastPurgeAt;
+    private long lastPurgeRows;
+    private int lastPurgeBatches;
+    private long lastPurgeMillis;
+    private double lastPurgeRowsPerSecond;
+}
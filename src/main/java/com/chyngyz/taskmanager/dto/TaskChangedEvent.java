@@ -0,0 +1,40 @@
+package com.chyngyz.taskmanager.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A task change, published by {@code TaskService}. It is queued for webhooks in the
+ * same transaction and, once committed, streamed to the feeds of {@code teamId} and,
+ * when the task moved, {@code previousTeamId}. The task is absent for deletions and
+ * bulk writes; a bulk create lists the new ids in {@code taskIds} instead, and a bulk
+ * update carries the request's {@code taskIds} or {@code filter}. A bulk update of
+ * tasks without a team has no {@code teamId}, so it reaches webhooks but no feed.
+ */
+public record TaskChangedEvent(TaskEventType type, Long taskId, List<Long> taskIds, TaskFilter filter, Long teamId,
+                               Long previousTeamId, TaskResponse task, LocalDateTime occurredAt) {
+
+    public static TaskChangedEvent of(TaskEventType type, TaskResponse task, Long previousTeamId) {
+        return new TaskChangedEvent(type, task.getId(), null, null, task.getTeamId(), previousTeamId, task,
+                LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, Long teamId) {
+        return new TaskChangedEvent(TaskEventType.DELETED, taskId, null, null, teamId, null, null,
+                LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent bulkCreated(Long teamId, List<Long> taskIds) {
+        return new TaskChangedEvent(TaskEventType.BULK_CREATED, null, taskIds, null, teamId, null, null,
+                LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent bulkUpdated(Long teamId, List<Long> taskIds, TaskFilter filter) {
+        return new TaskChangedEvent(TaskEventType.BULK_UPDATED, null, taskIds, filter, teamId, null, null,
+                LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent reset(Long teamId) {
+        return new TaskChangedEvent(TaskEventType.RESET, null, null, null, teamId, null, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,21 @@
+package com.chyngyz.taskmanager.dto;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    ASSIGNED,
+    DELETED,
+    /**
+     * A set-based update changed an unknown subset of the team's tasks; reload them.
+     */
+    BULK_UPDATED,
+    /**
+     * Tasks were created in bulk; {@code taskIds} lists them.
+     */
+    BULK_CREATED,
+    /**
+     * The requested {@code Last-Event-ID} is no longer retained; reload the board.
+     */
+    RESET
+}
@@ -0,0 +1,22 @@
+package com.chyngyz.taskmanager.dto;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What a team's live feed retains and streams for a {@link TaskChangedEvent}: the ids
+ * plus the status and version of a single changed task. Clients load the task itself
+ * when they need more than that.
+ */
+public record TaskFeedEvent(TaskEventType type, Long taskId, List<Long> taskIds, Long teamId, Long previousTeamId,
+                            TaskStatus status, Long version, LocalDateTime occurredAt) {
+
+    public static TaskFeedEvent of(TaskChangedEvent event) {
+        TaskResponse task = event.task();
+        return new TaskFeedEvent(event.type(), event.taskId(), event.taskIds(), event.teamId(),
+                event.previousTeamId(), task == null ? null : task.getStatus(),
+                task == null ? null : task.getVersion(), event.occurredAt());
+    }
+}
@@ -0,0 +1,20 @@
+package com.chyngyz.taskmanager.dto;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    private String category;
+    private TaskStatus status;
+    private Integer priority;
+    private Long assignedToId;
+    private Long createdById;
+    private Long teamId;
+}
@@ -0,0 +1,20 @@
+package com.chyngyz.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code errors} lists rejected rows by their zero-based
+ * position in the file, up to a fixed cap; {@code rejected} is always the full count.
+ */
+@Data
+@AllArgsConstructor
+public class TaskImportResult {
+    private long processed;
+    private long imported;
+    private long rejected;
+    private int batches;
+    private List<BulkItemError> errors;
+}
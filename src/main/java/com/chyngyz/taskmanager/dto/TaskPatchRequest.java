@@ -0,0 +1,66 @@
+package com.chyngyz.taskmanager.dto;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396) body for a task. Only the members present in the
+ * document are recorded, so an explicit {@code null} clears a field while an absent
+ * member leaves it untouched. Unknown members are rejected.
+ */
+public class TaskPatchRequest {
+
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    public void setTitle(String title) {
+        changes.put("title", title);
+    }
+
+    public void setDescription(String description) {
+        changes.put("description", description);
+    }
+
+    public void setStatus(TaskStatus status) {
+        changes.put("status", status);
+    }
+
+    public void setPriority(Integer priority) {
+        changes.put("priority", priority);
+    }
+
+    public void setCategory(String category) {
+        changes.put("category", category);
+    }
+
+    public void setAssignedToId(Long assignedToId) {
+        changes.put("assignedToId", assignedToId);
+    }
+
+    public void setTeamId(Long teamId) {
+        changes.put("teamId", teamId);
+    }
+
+    public void setDeadline(LocalDateTime deadline) {
+        changes.put("deadline", deadline);
+    }
+
+    // Read-only or misspelled members would otherwise be dropped silently
+    @JsonAnySetter
+    void rejectUnknown(String name, Object value) {
+        throw new IllegalArgumentException("Unknown task field: " + name);
+    }
+
+    /**
+     * Present members by {@link TaskRequest} property name, in document order.
+     */
+    @JsonIgnore
+    public Map<String, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+}
@@ -1,16 +1,24 @@
 package com.chyngyz.taskmanager.dto;
 
 import com.chyngyz.taskmanager.entity.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Data
 public class TaskRequest {
+    @NotBlank
+    @Size(max = 100)
     private String title;
     private String description;
+    @NotNull
     private TaskStatus status;
+    @NotNull
     private Integer priority;
+    @Size(max = 50)
     private String category;
     private Long assignedToId;
     private Long teamId;
@@ -1,6 +1,7 @@
 package com.chyngyz.taskmanager.dto;
 
 import com.chyngyz.taskmanager.entity.TaskStatus;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class TaskResponse {
     private Long id;
     private String title;
@@ -21,4 +23,5 @@ public class TaskResponse {
     private LocalDateTime deadline;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
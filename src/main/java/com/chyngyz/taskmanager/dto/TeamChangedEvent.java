@@ -0,0 +1,16 @@
+package com.chyngyz.taskmanager.dto;
+
+/**
+ * A team write, published by {@code TeamService} so caches and other per-team state
+ * are only touched once the transaction has committed.
+ */
+public record TeamChangedEvent(Long teamId, boolean deleted) {
+
+    public static TeamChangedEvent updated(Long teamId) {
+        return new TeamChangedEvent(teamId, false);
+    }
+
+    public static TeamChangedEvent deleted(Long teamId) {
+        return new TeamChangedEvent(teamId, true);
+    }
+}
@@ -0,0 +1,16 @@
+package com.chyngyz.taskmanager.dto;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class TeamStatsResponse {
+    private Long teamId;
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Integer, Long> byPriority;
+}
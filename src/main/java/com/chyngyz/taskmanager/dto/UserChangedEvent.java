@@ -0,0 +1,8 @@
+package com.chyngyz.taskmanager.dto;
+
+/**
+ * A user write, published by {@code UserService} so the cached user is only evicted
+ * once the transaction has committed.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,50 @@
+package com.chyngyz.taskmanager.entity;
+
+import com.chyngyz.taskmanager.dto.TaskEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change waiting to be delivered to one webhook endpoint. Rows are written in
+ * the transaction that changed the task and deleted once the endpoint accepted them.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = @Index(name = "idx_outbox_messages_due", columnList = "next_attempt_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 500)
+    private String endpoint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskEventType eventType;
+
+    private Long taskId;
+
+    private Long teamId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -6,7 +6,11 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date"),
+        @Index(name = "idx_refresh_tokens_revoked", columnList = "is_revoked")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,8 +21,9 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 of the token, Base64url without padding; the token itself is never stored
+    @Column(name = "token_hash", nullable = false, unique = true, length = 43)
+    private String tokenHash;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
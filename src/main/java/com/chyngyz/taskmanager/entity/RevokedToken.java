@@ -0,0 +1,40 @@
+package com.chyngyz.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An access token, or every access token of a user issued up to {@code revokedAt},
+ * that must no longer be accepted. Rows are only needed until the tokens they cover
+ * have expired.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Set for a single token
+    @Column(length = 64)
+    private String jti;
+
+    // Set when all of the user's tokens are revoked; no foreign key, the user may be gone
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
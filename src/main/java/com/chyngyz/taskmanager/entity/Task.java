@@ -2,18 +2,32 @@ package com.chyngyz.taskmanager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
+// Hibernate updates only the changed columns, so an unchanged description is not rewritten
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_team_status", columnList = "team_id, status"),
+        @Index(name = "idx_tasks_assigned_status", columnList = "assigned_to, status"),
+        @Index(name = "idx_tasks_created_by", columnList = "created_by"),
+        @Index(name = "idx_tasks_category_status", columnList = "category, status"),
+        @Index(name = "idx_tasks_status_priority", columnList = "status, priority"),
+        @Index(name = "idx_tasks_priority", columnList = "priority, id"),
+        @Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_updated_at", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Task {
 
+    // Pooled sequence keeps JDBC insert batching enabled; see changeset 013
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 100, nullable = false)
@@ -46,7 +60,14 @@ public class Task {
 
     private LocalDateTime deadline;
 
+    @Version
+    private Long version;
+
+    // Cursor listings sort on these, so they must never be null
+    @Column(nullable = false)
     private LocalDateTime createdAt;
+
+    @Column(nullable = false)
     private LocalDateTime updatedAt;
 
     @PrePersist
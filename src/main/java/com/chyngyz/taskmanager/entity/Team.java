@@ -2,12 +2,16 @@ package com.chyngyz.taskmanager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "teams")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teams")
+@Table(name = "teams", indexes = @Index(name = "idx_teams_created_by", columnList = "created_by"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +33,7 @@ public class Team {
     private User createdBy;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team-members")
     @JoinTable(
             name = "team_members",
             joinColumns = @JoinColumn(name = "team_id"),
@@ -36,6 +41,9 @@ public class Team {
     )
     private Set<User> members = new HashSet<>();
 
+    @Version
+    private Long version;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
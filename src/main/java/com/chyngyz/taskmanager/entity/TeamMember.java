@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "team_members")
+@Table(name = "team_members", indexes = {
+        @Index(name = "idx_team_members_team_user", columnList = "team_id, user_id"),
+        @Index(name = "idx_team_members_user", columnList = "user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,131 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.dto.ActivityEntryResponse;
+import com.chyngyz.taskmanager.dto.ActivityEvent;
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only {@code activity_log}. On PostgreSQL the table is range-partitioned by
+ * month of {@code occurred_at} (changeset 017), so old months can be detached or
+ * dropped without touching the current one.
+ */
+@Repository
+public class ActivityLogRepository {
+
+    // Rows per INSERT statement; 6 columns keep a full statement far below bind limits
+    private static final int ROWS_PER_INSERT = 500;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO activity_log (subject, subject_id, action, actor, changes, occurred_at) VALUES ";
+
+    private static final String FULL_INSERT = insertSql(ROWS_PER_INSERT);
+
+    private static final RowMapper<ActivityEntryResponse> ENTRY_MAPPER = (rs, rowNum) -> new ActivityEntryResponse(
+            rs.getLong("id"), rs.getString("action"), rs.getString("actor"), rs.getString("changes"),
+            rs.getTimestamp("occurred_at").toLocalDateTime());
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile Boolean partitioned;
+
+    public ActivityLogRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the events with multi-row {@code INSERT} statements of up to 500 rows.
+     */
+    public void insertAll(List<ActivityEvent> events) {
+        for (int from = 0; from < events.size(); from += ROWS_PER_INSERT) {
+            List<ActivityEvent> chunk = events.subList(from, Math.min(from + ROWS_PER_INSERT, events.size()));
+            List<Object> args = new ArrayList<>(chunk.size() * 6);
+            for (ActivityEvent event : chunk) {
+                args.add(event.subject().name());
+                args.add(event.subjectId());
+                args.add(event.action());
+                args.add(event.actor());
+                args.add(toJson(event));
+                args.add(Timestamp.valueOf(event.occurredAt()));
+            }
+            String sql = chunk.size() == ROWS_PER_INSERT ? FULL_INSERT : insertSql(chunk.size());
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+
+    /**
+     * Entries of one task or team, newest first, strictly before the given position
+     * when one is given.
+     */
+    public List<ActivityEntryResponse> findPage(ActivitySubject subject, Long subjectId,
+                                                LocalDateTime beforeOccurredAt, Long beforeId, int limit) {
+        if (beforeOccurredAt == null) {
+            return jdbcTemplate.query("""
+                            SELECT id, action, actor, changes, occurred_at FROM activity_log
+                            WHERE subject = ? AND subject_id = ?
+                            ORDER BY occurred_at DESC, id DESC LIMIT ?
+                            """,
+                    ENTRY_MAPPER, subject.name(), subjectId, limit);
+        }
+        // Same shape as TaskCursor.seek(): the leading range keeps partition pruning and the index seek
+        Timestamp before = Timestamp.valueOf(beforeOccurredAt);
+        return jdbcTemplate.query("""
+                        SELECT id, action, actor, changes, occurred_at FROM activity_log
+                        WHERE subject = ? AND subject_id = ?
+                          AND occurred_at <= ? AND (occurred_at < ? OR id < ?)
+                        ORDER BY occurred_at DESC, id DESC LIMIT ?
+                        """,
+                ENTRY_MAPPER, subject.name(), subjectId, before, before, beforeId, limit);
+    }
+
+    /**
+     * Creates the partition for the month if the table is partitioned and it does not
+     * exist yet. Returns false on databases without partitioning.
+     */
+    public boolean createPartition(YearMonth month) {
+        if (!isPartitioned()) {
+            return false;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS activity_log_" + month.format(PARTITION_SUFFIX)
+                + " PARTITION OF activity_log FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+                + month.plusMonths(1).atDay(1) + "')");
+        return true;
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equals(product);
+        }
+        return partitioned;
+    }
+
+    private String toJson(ActivityEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.changes());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize activity changes", e);
+        }
+    }
+
+    private static String insertSql(int rows) {
+        return INSERT_PREFIX + String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?, ?, ?)"));
+    }
+}
@@ -0,0 +1,9 @@
+package com.chyngyz.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Undelivered outbox rows and the creation time of the oldest one, or null when empty.
+ */
+public record OutboxBacklog(long pending, LocalDateTime oldestCreatedAt) {
+}
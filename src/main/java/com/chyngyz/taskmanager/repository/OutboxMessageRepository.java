@@ -0,0 +1,25 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.entity.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: rows claimed by another dispatcher
+    // are passed over instead of waited for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxMessage> findByNextAttemptAtLessThanEqualOrderByIdAsc(LocalDateTime now, Limit limit);
+
+    @Query("select new com.chyngyz.taskmanager.repository.OutboxBacklog(count(m), min(m.createdAt)) from OutboxMessage m")
+    OutboxBacklog backlog();
+}
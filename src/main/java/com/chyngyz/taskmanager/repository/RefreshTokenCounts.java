@@ -0,0 +1,7 @@
+package com.chyngyz.taskmanager.repository;
+
+/**
+ * All refresh token rows and the ones that can still be used.
+ */
+public record RefreshTokenCounts(long rows, long active) {
+}
@@ -2,11 +2,36 @@ package com.chyngyz.taskmanager.repository;
 
 import com.chyngyz.taskmanager.entity.RefreshToken;
 import com.chyngyz.taskmanager.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
     void deleteAllByUser(User user);
+
+    @Query("select t.id from RefreshToken t where t.user.id = :userId and t.revoked = false and t.expiryDate > :now order by t.id desc")
+    List<Long> findActiveIdsByUserId(Long userId, LocalDateTime now);
+
+    // Resumes the primary key walk after the previous batch instead of rescanning the dead rows it left behind
+    @Query("select t.id from RefreshToken t where t.id > :afterId and (t.revoked = true or t.expiryDate <= :now) order by t.id")
+    List<Long> findPurgeableIds(LocalDateTime now, long afterId, Limit limit);
+
+    // Re-checks the condition so the count is the rows actually deleted
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.id in :ids and (t.revoked = true or t.expiryDate <= :now)")
+    int deletePurgeable(Collection<Long> ids, LocalDateTime now);
+
+    @Query("select new com.chyngyz.taskmanager.repository.RefreshTokenCounts(count(t), "
+            + "coalesce(sum(case when t.revoked = false and t.expiryDate > :now then 1 else 0 end), 0)) "
+            + "from RefreshToken t")
+    RefreshTokenCounts counts(LocalDateTime now);
 }
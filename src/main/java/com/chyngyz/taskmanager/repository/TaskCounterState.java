@@ -0,0 +1,17 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+
+/**
+ * The columns of one task that decide its team counter, read together with the
+ * version they belong to.
+ */
+public record TaskCounterState(Long teamId, TaskStatus status, Integer priority, long version) {
+
+    /**
+     * Returns the counter the task is counted under, or {@code null} for tasks without a team.
+     */
+    public TeamTaskCounterRepository.Key key() {
+        return teamId == null ? null : new TeamTaskCounterRepository.Key(teamId, status, priority);
+    }
+}
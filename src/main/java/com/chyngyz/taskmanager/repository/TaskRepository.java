@@ -1,25 +1,35 @@
 package com.chyngyz.taskmanager.repository;
 
+import com.chyngyz.taskmanager.dto.TaskResponse;
 import com.chyngyz.taskmanager.entity.Task;
 import com.chyngyz.taskmanager.entity.TaskStatus;
 import com.chyngyz.taskmanager.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
     Page<Task> findByCategory(String category, Pageable pageable);
 
     Page<Task> findByStatus(TaskStatus status, Pageable pageable);
 
-    Page<Task> findByAssignedToId(Long userId, Pageable pageable);
+    // Explicit queries compare the foreign key column; the derived ones joined the
+    // referenced table and scanned tasks
+    @Query("select t from Task t where t.assignedTo.id = :userId")
+    Page<Task> findByAssignedToId(@Param("userId") Long userId, Pageable pageable);
 
-    Page<Task> findByTeamId(Long teamId, Pageable pageable);
+    @Query("select t from Task t where t.team.id = :teamId")
+    Page<Task> findByTeamId(@Param("teamId") Long teamId, Pageable pageable);
 
-    Page<Task> findByCreatedById(Long userId, Pageable pageable);
+    @Query("select t from Task t where t.createdBy.id = :userId")
+    Page<Task> findByCreatedById(@Param("userId") Long userId, Pageable pageable);
 
     Page<Task> findByPriority(Integer priority, Pageable pageable);
 
@@ -28,4 +38,23 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     Page<Task> findAll(Pageable pageable);
 
     List<Task> findAllByAssignedTo(User user);
+
+    @Query("""
+            select new com.chyngyz.taskmanager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.category,
+                t.createdBy.id, t.assignedTo.id, t.team.id, t.deadline, t.createdAt, t.updatedAt, t.version)
+            from Task t
+            where t.id = :id
+            """)
+    Optional<TaskResponse> findResponseById(@Param("id") Long id);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("""
+            select new com.chyngyz.taskmanager.repository.TaskCounterState(t.team.id, t.status, t.priority, t.version)
+            from Task t
+            where t.id = :id
+            """)
+    Optional<TaskCounterState> findCounterStateById(@Param("id") Long id);
 }
@@ -0,0 +1,67 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Read queries that select task columns straight into {@link TaskResponse}
+ * without loading {@link Task} entities into the persistence context.
+ */
+public interface TaskRepositoryCustom {
+
+    Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable);
+
+    List<TaskResponse> findResponses(Specification<Task> spec, Sort sort, int limit);
+
+    /**
+     * Streams matching rows through a server-side cursor. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    Stream<TaskResponse> streamResponses(Specification<Task> spec, Sort sort);
+
+    /**
+     * Task counts of the matching tasks grouped by team, status and priority.
+     * Tasks without a team are not counted.
+     */
+    List<TeamStatusCount> countByTeam(Specification<Task> spec);
+
+    /**
+     * Ids of the matching tasks without a team, the rows {@link #countByTeam} leaves out.
+     */
+    List<Long> findTeamlessIds(Specification<Task> spec);
+
+    /**
+     * Count and latest update time of the matching tasks in one aggregate query,
+     * used to validate cached list responses without selecting any rows.
+     */
+    TaskWatermark watermark(Specification<Task> spec);
+
+    /**
+     * Set-based writes: one {@code UPDATE ... WHERE} per call that also bumps
+     * {@code updated_at}. Returns the number of rows changed.
+     */
+    int updateStatus(Specification<Task> spec, TaskStatus status);
+
+    int updateAssignee(Specification<Task> spec, Long userId);
+
+    /**
+     * Sets only the given attributes, keyed by {@link Task} attribute name. Values of
+     * the {@code assignedTo} and {@code team} associations are ids.
+     */
+    int updateFields(Specification<Task> spec, Map<String, ?> values);
+
+    /**
+     * Bumps only {@code version} and {@code updated_at}, for rows a foreign key action
+     * is about to rewrite behind Hibernate's back.
+     */
+    int touch(Specification<Task> spec);
+}
@@ -0,0 +1,174 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable) {
+        List<TaskResponse> content = entityManager.createQuery(select(spec, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TaskResponse> findResponses(Specification<Task> spec, Sort sort, int limit) {
+        return entityManager.createQuery(select(spec, sort))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskResponse> streamResponses(Specification<Task> spec, Sort sort) {
+        return entityManager.createQuery(select(spec, sort))
+                .setHint(HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<TeamStatusCount> countByTeam(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TeamStatusCount> query = cb.createQuery(TeamStatusCount.class);
+        Root<Task> task = query.from(Task.class);
+        Path<Long> teamId = task.get("team").get("id");
+        query.select(cb.construct(TeamStatusCount.class, teamId, task.get("status"), task.get("priority"), cb.count(task)))
+                .where(spec.toPredicate(task, query, cb), cb.isNotNull(teamId))
+                .groupBy(teamId, task.get("status"), task.get("priority"));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Long> findTeamlessIds(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(task.get("id"))
+                .where(spec.toPredicate(task, query, cb), cb.isNull(task.get("team").get("id")))
+                .orderBy(cb.asc(task.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public TaskWatermark watermark(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskWatermark> query = cb.createQuery(TaskWatermark.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskWatermark.class, cb.count(task), cb.greatest(task.<LocalDateTime>get("updatedAt"))))
+                .where(spec.toPredicate(task, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int updateStatus(Specification<Task> spec, TaskStatus status) {
+        CriteriaUpdate<Task> update = update(spec);
+        update.set(update.getRoot().<TaskStatus>get("status"), status);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int updateAssignee(Specification<Task> spec, Long userId) {
+        CriteriaUpdate<Task> update = update(spec);
+        update.set(update.getRoot().<User>get("assignedTo"), entityManager.getReference(User.class, userId));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int updateFields(Specification<Task> spec, Map<String, ?> values) {
+        CriteriaUpdate<Task> update = update(spec);
+        Root<Task> task = update.getRoot();
+        values.forEach((attribute, value) -> {
+            Path<Object> path = task.get(attribute);
+            if (value == null) {
+                update.<Object>set(path, entityManager.getCriteriaBuilder().nullLiteral(path.getJavaType()));
+            } else if ("assignedTo".equals(attribute)) {
+                update.set(path, entityManager.getReference(User.class, value));
+            } else if ("team".equals(attribute)) {
+                update.set(path, entityManager.getReference(Team.class, value));
+            } else {
+                update.set(path, value);
+            }
+        });
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int touch(Specification<Task> spec) {
+        return entityManager.createQuery(update(spec)).executeUpdate();
+    }
+
+    // Bulk updates bypass @PreUpdate and @Version, so updatedAt and version are set explicitly
+    private CriteriaUpdate<Task> update(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        update.set(task.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        update.where(spec.toPredicate(task, null, cb));
+        return update;
+    }
+
+    private CriteriaQuery<TaskResponse> select(Specification<Task> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> task = query.from(Task.class);
+
+        // Association ids resolve to the foreign key columns, so no joins are added
+        query.select(cb.construct(TaskResponse.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("description"),
+                task.get("status"),
+                task.get("priority"),
+                task.get("category"),
+                task.get("createdBy").get("id"),
+                task.get("assignedTo").get("id"),
+                task.get("team").get("id"),
+                task.get("deadline"),
+                task.get("createdAt"),
+                task.get("updatedAt"),
+                task.get("version")));
+        query.where(spec.toPredicate(task, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+        return query;
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.count(task)).where(spec.toPredicate(task, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
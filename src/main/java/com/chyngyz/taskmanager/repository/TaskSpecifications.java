@@ -0,0 +1,60 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.entity.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds a single conjunctive WHERE clause out of every filter that is set,
+ * so any combination of task filters is answered by one query.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Predicates are added in order of expected selectivity: foreign keys first,
+     * then the low-cardinality columns. Unset filters contribute nothing.
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getAssignedToId() != null) {
+                predicates.add(cb.equal(root.get("assignedTo").get("id"), filter.getAssignedToId()));
+            }
+            if (filter.getTeamId() != null) {
+                predicates.add(cb.equal(root.get("team").get("id"), filter.getTeamId()));
+            }
+            if (filter.getCreatedById() != null) {
+                predicates.add(cb.equal(root.get("createdBy").get("id"), filter.getCreatedById()));
+            }
+            if (filter.getCategory() != null) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Task> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> withVersion(Long id, long version) {
+        return (root, query, cb) -> cb.and(cb.equal(root.get("id"), id), cb.equal(root.get("version"), version));
+    }
+}
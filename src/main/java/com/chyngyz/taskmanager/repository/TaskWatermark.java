@@ -0,0 +1,10 @@
+package com.chyngyz.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest {@code updated_at} of the tasks matching a filter. Any insert,
+ * delete or update within the filter changes at least one of the two.
+ */
+public record TaskWatermark(long count, LocalDateTime lastUpdatedAt) {
+}
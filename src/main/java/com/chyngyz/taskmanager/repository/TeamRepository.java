@@ -2,10 +2,63 @@ package com.chyngyz.taskmanager.repository;
 
 import com.chyngyz.taskmanager.entity.Team;
 import com.chyngyz.taskmanager.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
-    List<Team> findAllByMembersContains(User user);
+    // A join rather than the derived "member of", which scanned teams
+    @Query("select t from Team t join t.members m where m = :user")
+    List<Team> findAllByMembersContains(@Param("user") User user);
+
+    // The teams a user's delete cascades to
+    @Query("select t.id from Team t where t.createdBy = :user")
+    List<Long> findIdsByCreatedBy(@Param("user") User user);
+
+    @Query("select t.id from Team t where t.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "createdBy")
+    Page<Team> findAllBy(Pageable pageable);
+
+    @Query("select t.id as teamId, m.username as username from Team t join t.members m where t.id in :teamIds")
+    List<MemberUsername> findMemberUsernames(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("""
+            select t.updatedAt as updatedAt, c.updatedAt as creatorUpdatedAt,
+                   count(m) as memberCount, max(m.updatedAt) as membersUpdatedAt
+            from Team t join t.createdBy c left join t.members m
+            where t.id = :id
+            group by t.id, t.updatedAt, c.updatedAt
+            """)
+    Optional<TeamVersion> findVersionById(@Param("id") Long id);
+
+    interface MemberUsername {
+        Long getTeamId();
+
+        String getUsername();
+    }
+
+    /**
+     * Timestamps of everything a {@code TeamResponse} is built from: the team, its
+     * creator and its members.
+     */
+    interface TeamVersion {
+        LocalDateTime getUpdatedAt();
+
+        LocalDateTime getCreatorUpdatedAt();
+
+        long getMemberCount();
+
+        LocalDateTime getMembersUpdatedAt();
+    }
 }
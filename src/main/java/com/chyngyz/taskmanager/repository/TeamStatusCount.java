@@ -0,0 +1,13 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.entity.TaskStatus;
+
+/**
+ * Number of tasks of one team with a given status and priority.
+ */
+public record TeamStatusCount(Long teamId, TaskStatus status, Integer priority, long count) {
+
+    public TeamTaskCounterRepository.Key key() {
+        return new TeamTaskCounterRepository.Key(teamId, status, priority);
+    }
+}
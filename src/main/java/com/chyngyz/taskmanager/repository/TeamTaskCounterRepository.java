@@ -0,0 +1,139 @@
+package com.chyngyz.taskmanager.repository;
+
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-team task counts in {@code team_task_counters}, keyed by (team, status, priority).
+ * Writers apply deltas in the same transaction as the task change, so a read is a
+ * primary-key range scan of at most statuses x priorities rows.
+ */
+@Repository
+public class TeamTaskCounterRepository {
+
+    public record Key(Long teamId, TaskStatus status, Integer priority) {
+
+        /**
+         * Returns the counter a task is counted under, or {@code null} for tasks without a team.
+         */
+        public static Key of(Task task) {
+            if (task.getTeam() == null) {
+                return null;
+            }
+            return new Key(task.getTeam().getId(), task.getStatus(), task.getPriority());
+        }
+    }
+
+    // Deltas are written in key order so concurrent writers and reconcile() lock counter
+    // rows in the same order; status compares by name to match ORDER BY in SQL
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::teamId)
+            .thenComparing(key -> key.status().name())
+            .thenComparing(Key::priority);
+
+    private static final String POSTGRES_ADD = """
+            INSERT INTO team_task_counters (team_id, status, priority, task_count) VALUES (?, ?, ?, ?)
+            ON CONFLICT (team_id, status, priority)
+            DO UPDATE SET task_count = team_task_counters.task_count + EXCLUDED.task_count
+            """;
+
+    private static final String MERGE_ADD = """
+            MERGE INTO team_task_counters c
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(20)), CAST(? AS INT), CAST(? AS BIGINT)))
+                AS v (team_id, status, priority, delta)
+            ON c.team_id = v.team_id AND c.status = v.status AND c.priority = v.priority
+            WHEN MATCHED THEN UPDATE SET task_count = c.task_count + v.delta
+            WHEN NOT MATCHED THEN INSERT (team_id, status, priority, task_count)
+                VALUES (v.team_id, v.status, v.priority, v.delta)
+            """;
+
+    private static final String TASK_COUNT = """
+            (SELECT COUNT(*) FROM tasks t
+             WHERE t.team_id = c.team_id AND t.status = c.status AND t.priority = c.priority)""";
+
+    private static final String RECOUNT =
+            "UPDATE team_task_counters c SET task_count = " + TASK_COUNT + " WHERE c.task_count <> " + TASK_COUNT;
+
+    // Only statuses TaskStatus knows are counted, as in the changeset 014 backfill
+    private static final String INSERT_MISSING = """
+            INSERT INTO team_task_counters (team_id, status, priority, task_count)
+            SELECT t.team_id, t.status, t.priority, COUNT(*) FROM tasks t
+            WHERE t.team_id IS NOT NULL AND t.status IN (%s)
+              AND NOT EXISTS (SELECT 1 FROM team_task_counters c
+                              WHERE c.team_id = t.team_id AND c.status = t.status AND c.priority = t.priority)
+            GROUP BY t.team_id, t.status, t.priority
+            """.formatted(Arrays.stream(TaskStatus.values())
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ")));
+
+    private static final RowMapper<TeamStatusCount> COUNT_MAPPER = (rs, rowNum) -> new TeamStatusCount(
+            rs.getLong("team_id"), TaskStatus.valueOf(rs.getString("status")), rs.getInt("priority"),
+            rs.getLong("task_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String addSql;
+
+    public TeamTaskCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds each delta to its counter, creating missing counters. Zero deltas are skipped.
+     */
+    public void add(Map<Key, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .forEach(delta -> rows.add(new Object[]{delta.getKey().teamId(), delta.getKey().status().name(),
+                        delta.getKey().priority(), delta.getValue()}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(addSql(), rows);
+        }
+    }
+
+    /**
+     * Recounts every counter from {@code tasks} in place and returns the number of
+     * counters that were corrected or created. The counter rows are locked in key order
+     * first, so the recount only starts once in-flight writers have committed, and
+     * writers arriving later wait and apply their delta to the repaired value. Must run
+     * in a transaction.
+     */
+    public int reconcile() {
+        jdbcTemplate.query("SELECT team_id FROM team_task_counters ORDER BY team_id, status, priority FOR UPDATE",
+                rs -> {
+                });
+        int repaired = jdbcTemplate.update(RECOUNT);
+        jdbcTemplate.update("DELETE FROM team_task_counters WHERE task_count = 0");
+        return repaired + jdbcTemplate.update(INSERT_MISSING);
+    }
+
+    public void deleteByTeamId(Long teamId) {
+        jdbcTemplate.update("DELETE FROM team_task_counters WHERE team_id = ?", teamId);
+    }
+
+    public List<TeamStatusCount> findByTeamId(Long teamId) {
+        return jdbcTemplate.query(
+                "SELECT team_id, status, priority, task_count FROM team_task_counters WHERE team_id = ?",
+                COUNT_MAPPER, teamId);
+    }
+
+    private String addSql() {
+        if (addSql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            addSql = "PostgreSQL".equals(product) ? POSTGRES_ADD : MERGE_ADD;
+        }
+        return addSql;
+    }
+}
@@ -1,12 +1,66 @@
 package com.chyngyz.taskmanager.repository;
 
+import com.chyngyz.taskmanager.dto.UserResponse;
 import com.chyngyz.taskmanager.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Resolved at login only, since the JWT filter builds the principal from token claims;
+    // repeated logins are served from the query cache until users change
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.chyngyz.taskmanager.dto.UserResponse(
+                u.id, u.username, u.email, u.firstName, u.lastName, cast(u.role as String))
+            from User u
+            where u.id > :afterId
+            order by u.id
+            """)
+    List<UserResponse> findDirectoryPage(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * {@code prefix} must already be lower-cased, LIKE-escaped and end with {@code %}.
+     * Matches the {@code lower(...) varchar_pattern_ops} indexes from changeset 012.
+     */
+    @Query("""
+            select new com.chyngyz.taskmanager.dto.UserResponse(
+                u.id, u.username, u.email, u.firstName, u.lastName, cast(u.role as String))
+            from User u
+            where u.id > :afterId
+              and (lower(u.username) like :prefix escape '\\' or lower(u.email) like :prefix escape '\\')
+            order by u.id
+            """)
+    List<UserResponse> findDirectoryPageByPrefix(@Param("afterId") long afterId,
+                                                 @Param("prefix") String prefix,
+                                                 Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.chyngyz.taskmanager.dto.UserResponse(
+                u.id, u.username, u.email, u.firstName, u.lastName, cast(u.role as String))
+            from User u
+            order by u.id
+            """)
+    Stream<UserResponse> streamDirectory();
 }
@@ -0,0 +1,37 @@
+package com.chyngyz.taskmanager.security;
+
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.User;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+
+/**
+ * The principal of a token-authenticated request. Id and role come from the token,
+ * so code that needs the current user can reference it without loading the row.
+ */
+public record AuthenticatedUser(Long id, String username, Role role) implements Principal {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    /**
+     * The principal of the current request; throws when the request was not
+     * authenticated with an access token.
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
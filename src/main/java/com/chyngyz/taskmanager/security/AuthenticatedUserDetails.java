@@ -0,0 +1,25 @@
+package com.chyngyz.taskmanager.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Login credentials that also carry the user's id, so a successful login can issue
+ * tokens without loading the user a second time.
+ */
+public class AuthenticatedUserDetails extends User {
+
+    private final AuthenticatedUser user;
+
+    public AuthenticatedUserDetails(com.chyngyz.taskmanager.entity.User user) {
+        super(user.getUsername(), user.getPassword(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        this.user = AuthenticatedUser.of(user);
+    }
+
+    public AuthenticatedUser getUser() {
+        return user;
+    }
+}
@@ -21,6 +21,7 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
 
     @Override
@@ -30,19 +31,20 @@ public class JwtFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String role = jwtUtil.extractRole(token);
+        // Verified once per request; the principal carries the user id and role from the token
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken token = jwtUtil.verify(authHeader.substring(7));
+            AuthenticatedUser user = token.principal();
 
+            if (user.username() != null && !revocationList.isRevoked(token)) {
                 List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + role)
+                        new SimpleGrantedAuthority("ROLE_" + user.role().name())
                 );
 
+                // The verified token is kept as the credentials so logout can revoke it
                 UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(user, token, authorities);
 
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
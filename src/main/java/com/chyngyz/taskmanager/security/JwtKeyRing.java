@@ -0,0 +1,212 @@
+package com.chyngyz.taskmanager.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The keys access tokens are signed and verified with, each identified by the
+ * {@code kid} header of the tokens it signed.
+ * <p>
+ * Keys come from {@code taskmanager.jwt.secret} and from the files in
+ * {@code taskmanager.jwt.keys-dir} (see {@link KeyFiles}), which every node reloads
+ * periodically, so replicas sharing the directory or the secret accept each other's
+ * tokens. The newest active key that this node holds privately signs new tokens. An
+ * older key keeps verifying until its successor has been signing for
+ * {@code verification-overlap}, which must exceed the access-token lifetime. With
+ * rotation enabled, one node writes a new key every {@code rotation.interval}, dated
+ * {@code rotation.publish-ahead} into the future so that every node and JWKS client
+ * knows it before it signs anything. Without any configured key a random HMAC key
+ * is used and tokens do not survive a restart.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final DateTimeFormatter KID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Path keysDir;
+    private final SignatureAlgorithm algorithm;
+    private final Duration overlap;
+    private final boolean rotationEnabled;
+    private final Duration rotationInterval;
+    private final Duration publishAhead;
+    private final List<SigningKey> configured = new ArrayList<>();
+
+    // Sorted by activation time; replaced as a whole on reload
+    private volatile List<SigningKey> keys = List.of();
+
+    public JwtKeyRing(
+            @Value("${taskmanager.jwt.keys-dir:}") String keysDir,
+            @Value("${taskmanager.jwt.secret:}") String secret,
+            @Value("${taskmanager.jwt.algorithm:HS256}") SignatureAlgorithm algorithm,
+            @Value("${taskmanager.jwt.verification-overlap:PT20M}") Duration overlap,
+            @Value("${taskmanager.jwt.rotation.enabled:false}") boolean rotationEnabled,
+            @Value("${taskmanager.jwt.rotation.interval:P30D}") Duration rotationInterval,
+            @Value("${taskmanager.jwt.rotation.publish-ahead:PT1H}") Duration publishAhead) {
+        this.keysDir = keysDir.isBlank() ? null : Path.of(keysDir);
+        this.algorithm = algorithm;
+        this.overlap = overlap;
+        this.rotationEnabled = rotationEnabled;
+        this.rotationInterval = rotationInterval;
+        this.publishAhead = publishAhead;
+        if (!secret.isBlank()) {
+            byte[] bytes = Base64.getDecoder().decode(secret.trim());
+            SignatureAlgorithm hmac = KeyFiles.hmacAlgorithm(bytes.length);
+            Key key = new SecretKeySpec(bytes, hmac.getJcaName());
+            configured.add(new SigningKey("config", hmac, key, key, Instant.EPOCH));
+        }
+
+        reload();
+        if (rotationEnabled) {
+            rotate();
+        }
+        if (keys.stream().noneMatch(SigningKey::canSign)) {
+            logger.warn("No JWT signing key configured; using a random key, tokens will not survive a restart");
+            List<SigningKey> withEphemeral = new ArrayList<>(keys);
+            withEphemeral.add(SigningKey.generate("ephemeral-" + KID_FORMAT.format(Instant.now()),
+                    SignatureAlgorithm.HS256, Instant.now()));
+            keys = sorted(withEphemeral);
+        }
+    }
+
+    /**
+     * The key new tokens are signed with.
+     */
+    public SigningKey signingKey() {
+        Instant now = Instant.now();
+        SigningKey current = null;
+        for (SigningKey key : keys) {
+            if (key.canSign() && !key.activeFrom().isAfter(now)) {
+                current = key;
+            }
+        }
+        if (current == null) {
+            throw new IllegalStateException("No active JWT signing key");
+        }
+        return current;
+    }
+
+    /**
+     * The key tokens with the given {@code kid} are verified with, or null if it is
+     * unknown or retired.
+     */
+    public Key verificationKey(String kid) {
+        for (SigningKey key : published()) {
+            if (key.kid().equals(kid)) {
+                return key.verificationKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keys that still verify tokens, including keys that will only sign in the future.
+     */
+    public List<SigningKey> published() {
+        Instant now = Instant.now();
+        List<SigningKey> current = keys;
+        List<SigningKey> published = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            boolean retired = i + 1 < current.size()
+                    && current.get(i + 1).activeFrom().plus(overlap).isBefore(now);
+            if (!retired) {
+                published.add(current.get(i));
+            }
+        }
+        return published;
+    }
+
+    /**
+     * The published asymmetric keys as a JWK Set; HMAC keys are never exposed.
+     */
+    public Map<String, Object> jwks() {
+        return Map.of("keys", published().stream().map(SigningKey::jwk).filter(Objects::nonNull).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.jwt.reload-interval:PT1M}",
+            initialDelayString = "${taskmanager.jwt.reload-interval:PT1M}")
+    public void reload() {
+        List<SigningKey> loaded = new ArrayList<>(configured);
+        if (keysDir != null) {
+            try {
+                Files.createDirectories(keysDir);
+                loaded.addAll(KeyFiles.load(keysDir));
+            } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+                logger.error("Could not load JWT keys from {}, keeping the current keys", keysDir, e);
+                return;
+            }
+        }
+        // Keep the random key while nothing else can sign
+        keys.stream().filter(key -> key.kid().startsWith("ephemeral-")).findFirst()
+                .filter(ephemeral -> loaded.stream().noneMatch(SigningKey::canSign))
+                .ifPresent(loaded::add);
+        List<SigningKey> previous = keys;
+        keys = sorted(loaded);
+        if (!kids(previous).equals(kids(keys))) {
+            logger.info("JWT key ring now holds {}", kids(keys));
+        }
+    }
+
+    /**
+     * Writes a new key when the newest one is due for replacement. The very first key
+     * is active at once; later ones are published ahead of their activation.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.jwt.rotation.check-interval:PT1H}",
+            initialDelayString = "${taskmanager.jwt.rotation.check-interval:PT1H}")
+    public void rotate() {
+        if (!rotationEnabled || keysDir == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        SigningKey newest = keys.stream().filter(SigningKey::canSign)
+                .filter(key -> !key.kid().startsWith("ephemeral-"))
+                .max(Comparator.comparing(SigningKey::activeFrom)).orElse(null);
+        if (newest != null && newest.activeFrom().plus(rotationInterval).minus(publishAhead).isAfter(now)) {
+            return;
+        }
+        Instant activeFrom = newest == null ? now : now.plus(publishAhead);
+        SigningKey key = SigningKey.generate(KID_FORMAT.format(activeFrom), algorithm, activeFrom);
+        try {
+            Files.createDirectories(keysDir);
+            KeyFiles.write(keysDir, key);
+            logger.info("Wrote JWT key {} ({}), active from {}", key.kid(), algorithm, activeFrom);
+        } catch (IOException e) {
+            logger.error("Could not write a new JWT key to {}", keysDir, e);
+            return;
+        }
+        reload();
+    }
+
+    private static List<SigningKey> sorted(List<SigningKey> keys) {
+        return keys.stream()
+                .sorted(Comparator.comparing(SigningKey::activeFrom).thenComparing(SigningKey::kid))
+                .toList();
+    }
+
+    private static List<String> kids(List<SigningKey> keys) {
+        return keys.stream().map(SigningKey::kid).toList();
+    }
+}
@@ -1,31 +1,103 @@
 package com.chyngyz.taskmanager.security;
 
 import com.chyngyz.taskmanager.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    private final long jwtExpirationMs = 15 * 60 * 1000;
-    private final Key secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
 
-    public String generateToken(String username, Role role) {
+    private final JwtKeyRing keyRing;
+
+    // Immutable and thread-safe, so one parser serves every request; the key is
+    // looked up in the key ring by the token's kid header
+    private final JwtParser parser;
+
+    /**
+     * Tokens verified recently, keyed by a SHA-256 digest of the token so the cache
+     * holds no bearer credentials. An entry expires with its token.
+     */
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${taskmanager.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown or retired signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<String, VerifiedToken>creating(
+                        (digest, token) -> Duration.between(Instant.now(), token.expiresAt())))
+                .build();
+    }
+
+    public String generateToken(AuthenticatedUser user) {
+        SigningKey key = keyRing.signingKey();
         return Jwts.builder()
-                .setSubject(username)
-                .claim("role", role.name())
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.username())
+                .claim("uid", user.id())
+                .claim("role", user.role().name())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(secretKey)
+                .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_TTL.toMillis()))
+                .signWith(key.signingKey(), key.algorithm())
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token once and returns its claims, from the cache when
+     * the same token was verified before. Throws {@link JwtException} for an invalid
+     * or expired token, which is never cached.
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Long userId = claims.get("uid", Long.class);
+        if (userId == null || claims.getId() == null || claims.getIssuedAt() == null) {
+            throw new MalformedJwtException("Token has no uid, jti or iat claim");
+        }
+        AuthenticatedUser user = new AuthenticatedUser(userId, claims.getSubject(),
+                Role.valueOf(claims.get("role", String.class)));
+        VerifiedToken result = new VerifiedToken(user, claims.getId(),
+                claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant());
+        verified.put(digest, result);
+        return result;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -35,24 +107,20 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).username().equals(userDetails.getUsername());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        final Claims claims = parser.parseClaimsJws(token).getBody();
         return claimsResolver.apply(claims);
     }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package com.chyngyz.taskmanager.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Signing keys stored as files named after their key id:
+ * <ul>
+ *     <li>{@code <kid>.key}: a Base64 HMAC secret</li>
+ *     <li>{@code <kid>.pem}: a PKCS#8 RSA or EC private key, with its public key in {@code <kid>.pub.pem}</li>
+ *     <li>{@code <kid>.pub.pem} alone: a key this node verifies with but cannot sign with</li>
+ * </ul>
+ * A key becomes active at its file's modification time, so a file dated in the future
+ * is published for verification before anyone signs with it.
+ */
+final class KeyFiles {
+
+    private static final String SECRET = ".key";
+    private static final String PRIVATE = ".pem";
+    private static final String PUBLIC = ".pub.pem";
+
+    private KeyFiles() {
+    }
+
+    static List<SigningKey> load(Path dir) throws IOException, GeneralSecurityException {
+        List<SigningKey> keys = new ArrayList<>();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Instant activeFrom = Files.getLastModifiedTime(file).toInstant();
+            if (name.endsWith(SECRET)) {
+                byte[] secret = Base64.getDecoder().decode(Files.readString(file).trim());
+                SignatureAlgorithm algorithm = hmacAlgorithm(secret.length);
+                Key key = new SecretKeySpec(secret, algorithm.getJcaName());
+                keys.add(new SigningKey(kid(name, SECRET), algorithm, key, key, activeFrom));
+            } else if (name.endsWith(PUBLIC)) {
+                String kid = kid(name, PUBLIC);
+                if (!Files.exists(dir.resolve(kid + PRIVATE))) {
+                    PublicKey publicKey = readPublic(file);
+                    keys.add(new SigningKey(kid, algorithm(publicKey), null, publicKey, activeFrom));
+                }
+            } else if (name.endsWith(PRIVATE)) {
+                String kid = kid(name, PRIVATE);
+                Path publicFile = dir.resolve(kid + PUBLIC);
+                if (!Files.exists(publicFile)) {
+                    throw new GeneralSecurityException("Private key " + name + " has no " + kid + PUBLIC);
+                }
+                PublicKey publicKey = readPublic(publicFile);
+                PrivateKey privateKey = readPrivate(file, publicKey.getAlgorithm());
+                keys.add(new SigningKey(kid, algorithm(publicKey), privateKey, publicKey, activeFrom));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Writes the key and dates its files to its activation time. Each file is moved
+     * into place complete, so a node reloading concurrently never reads half a key.
+     */
+    static void write(Path dir, SigningKey key) throws IOException {
+        if (key.algorithm().isHmac()) {
+            write(dir, key.kid() + SECRET, Base64.getEncoder().encodeToString(key.signingKey().getEncoded()),
+                    key.activeFrom());
+            return;
+        }
+        // Public key first: a private key without its public half is rejected on load
+        write(dir, key.kid() + PUBLIC, pem("PUBLIC KEY", key.verificationKey().getEncoded()), key.activeFrom());
+        write(dir, key.kid() + PRIVATE, pem("PRIVATE KEY", key.signingKey().getEncoded()), key.activeFrom());
+    }
+
+    static SignatureAlgorithm hmacAlgorithm(int secretBytes) {
+        if (secretBytes >= 64) {
+            return SignatureAlgorithm.HS512;
+        }
+        if (secretBytes >= 48) {
+            return SignatureAlgorithm.HS384;
+        }
+        return SignatureAlgorithm.HS256;
+    }
+
+    private static void write(Path dir, String name, String content, Instant activeFrom) throws IOException {
+        Path temp = Files.createTempFile(dir, ".tmp-", null);
+        try {
+            Files.writeString(temp, content, StandardCharsets.US_ASCII);
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system; rely on the directory's permissions
+            }
+            Files.setLastModifiedTime(temp, FileTime.from(activeFrom));
+            try {
+                Files.move(temp, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static PublicKey readPublic(Path file) throws IOException, GeneralSecurityException {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(decodePem(file));
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (GeneralSecurityException e) {
+            return KeyFactory.getInstance("EC").generatePublic(spec);
+        }
+    }
+
+    private static PrivateKey readPrivate(Path file, String algorithm) throws IOException, GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(decodePem(file)));
+    }
+
+    private static SignatureAlgorithm algorithm(PublicKey key) {
+        if (key instanceof ECKey ec) {
+            int bits = ec.getParams().getCurve().getField().getFieldSize();
+            return bits > 384 ? SignatureAlgorithm.ES512 : bits > 256 ? SignatureAlgorithm.ES384 : SignatureAlgorithm.ES256;
+        }
+        return SignatureAlgorithm.RS256;
+    }
+
+    private static byte[] decodePem(Path file) throws IOException {
+        String body = Files.readString(file, StandardCharsets.US_ASCII).replaceAll("-----[A-Z ]+-----", "");
+        return Base64.getMimeDecoder().decode(body);
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static String kid(String fileName, String suffix) {
+        return fileName.substring(0, fileName.length() - suffix.length());
+    }
+}
@@ -0,0 +1,84 @@
+package com.chyngyz.taskmanager.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One key of the {@link JwtKeyRing}. {@code signingKey} is null for keys this node
+ * can only verify with, such as a public key published by another node. A key signs
+ * new tokens from {@code activeFrom} until a newer key takes over.
+ */
+public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey,
+                         Instant activeFrom) {
+
+    public static SigningKey generate(String kid, SignatureAlgorithm algorithm, Instant activeFrom) {
+        if (algorithm.isHmac()) {
+            Key secret = Keys.secretKeyFor(algorithm);
+            return new SigningKey(kid, algorithm, secret, secret, activeFrom);
+        }
+        KeyPair pair = Keys.keyPairFor(algorithm);
+        return new SigningKey(kid, algorithm, pair.getPrivate(), pair.getPublic(), activeFrom);
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    /**
+     * The public key as a JSON Web Key, or null for HMAC keys, which must never be
+     * published.
+     */
+    public Map<String, Object> jwk() {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (verificationKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+            return jwk;
+        }
+        if (verificationKey instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            jwk.put("crv", switch (algorithm) {
+                case ES384 -> "P-384";
+                case ES512 -> "P-521";
+                default -> "P-256";
+            });
+            jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+            return jwk;
+        }
+        return null;
+    }
+
+    // Unsigned big-endian, left-padded to length when length > 0 (RFC 7518 section 6)
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,199 @@
+package com.chyngyz.taskmanager.security;
+
+import com.chyngyz.taskmanager.entity.RevokedToken;
+import com.chyngyz.taskmanager.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Access tokens that were revoked before they expired. Revoked token ids sit in
+ * one-minute buckets by token expiry, so whole buckets are dropped once their tokens
+ * can no longer be used; a Bloom filter in front of them answers the common "not
+ * revoked" case without touching the buckets. Revoking all of a user's tokens keeps
+ * the revocation time for one token lifetime. Revocations are persisted, loaded at
+ * startup and polled so every node sees the ones made elsewhere.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final long BUCKET_SECONDS = 60;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Re-read a margin before the last poll, for rows committed late or by a node with a skewed clock
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+
+    private final ConcurrentNavigableMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<Long, Instant> revokedUsers = new ConcurrentHashMap<>();
+    // Replaced, never cleared, under the lock; readers take whichever filter is current
+    private volatile BloomFilter filter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private LocalDateTime lastSync;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${taskmanager.jwt.revocation.expected-entries:10000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.filter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (!revokedUsers.isEmpty()) {
+            Instant revokedAt = revokedUsers.get(token.principal().id());
+            if (revokedAt != null && !token.issuedAt().isAfter(revokedAt)) {
+                return true;
+            }
+        }
+        if (!filter.mightContain(token.jti())) {
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(token.expiresAt()));
+        return bucket != null && bucket.contains(token.jti());
+    }
+
+    public void revoke(VerifiedToken token) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(token.jti())
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(toLocal(token.expiresAt()))
+                .build());
+        afterCommit(() -> addToken(token.jti(), token.expiresAt()));
+        logger.info("Access token {} of user '{}' revoked", token.jti(), token.principal().username());
+    }
+
+    /**
+     * Revokes every access token issued to the user so far. Tokens issued later are
+     * accepted again. Inside a transaction the row commits with it, and this node only
+     * starts rejecting the tokens once it has committed.
+     */
+    public void revokeUser(Long userId) {
+        Instant now = Instant.now();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .userId(userId)
+                .revokedAt(toLocal(now))
+                .expiresAt(toLocal(now.plus(JwtUtil.ACCESS_TOKEN_TTL)))
+                .build());
+        afterCommit(() -> revokedUsers.merge(userId, now, (a, b) -> a.isAfter(b) ? a : b));
+        logger.info("All access tokens of user {} revoked", userId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${taskmanager.jwt.revocation.sync-interval:PT10S}",
+            initialDelayString = "${taskmanager.jwt.revocation.sync-interval:PT10S}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> rows;
+        try {
+            rows = lastSync == null
+                    ? revokedTokenRepository.findByExpiresAtAfter(now)
+                    : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(
+                            lastSync.minus(SYNC_OVERLAP), now);
+        } catch (RuntimeException e) {
+            logger.error("Could not load token revocations", e);
+            return;
+        }
+        if (lastSync == null) {
+            logger.info("Loaded {} token revocations", rows.size());
+        }
+        lastSync = now;
+        for (RevokedToken row : rows) {
+            if (row.getJti() != null) {
+                addToken(row.getJti(), toInstant(row.getExpiresAt()));
+            } else if (row.getUserId() != null) {
+                revokedUsers.merge(row.getUserId(), toInstant(row.getRevokedAt()), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        prune(Instant.now());
+    }
+
+    @Scheduled(cron = "${taskmanager.jwt.revocation.purge-cron:0 15 * * * *}")
+    public void purge() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired token revocations", purged);
+        }
+    }
+
+    /**
+     * Drops buckets and user revocations whose tokens have all expired, and rebuilds
+     * the filter without them.
+     */
+    void prune(Instant now) {
+        revokedUsers.values().removeIf(revokedAt -> revokedAt.plus(JwtUtil.ACCESS_TOKEN_TTL).isBefore(now));
+        Map<Long, Set<String>> expired = buckets.headMap(now.getEpochSecond() / BUCKET_SECONDS);
+        if (expired.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            expired.clear();
+            int size = buckets.values().stream().mapToInt(Set::size).sum();
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size * 2), FALSE_POSITIVE_RATE);
+            buckets.values().forEach(bucket -> bucket.forEach(rebuilt::add));
+            filter = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addToken(String jti, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        // Under the lock so a concurrent rebuild cannot drop the new id from the filter
+        lock.lock();
+        try {
+            buckets.computeIfAbsent(bucketOf(expiresAt), key -> ConcurrentHashMap.newKeySet()).add(jti);
+            filter.add(jti);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long bucketOf(Instant expiresAt) {
+        return expiresAt.getEpochSecond() / BUCKET_SECONDS;
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
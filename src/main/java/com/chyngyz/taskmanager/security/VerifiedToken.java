@@ -0,0 +1,13 @@
+package com.chyngyz.taskmanager.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of an access token whose signature and expiry have been checked.
+ */
+public record VerifiedToken(AuthenticatedUser principal, String jti, Instant issuedAt, Instant expiresAt) {
+
+    public String username() {
+        return principal.username();
+    }
+}
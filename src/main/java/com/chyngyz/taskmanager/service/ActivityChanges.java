@@ -0,0 +1,88 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.ActivityEvent;
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.repository.TaskCounterState;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Field-level changes of one write, collected for the activity log.
+ */
+final class ActivityChanges {
+
+    private final Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+
+    /**
+     * The fields that differ between two states of a task; either may be null for a
+     * created or deleted task.
+     */
+    static ActivityChanges between(TaskResponse before, TaskResponse after) {
+        ActivityChanges changes = new ActivityChanges();
+        changes.diff("title", before == null ? null : before.getTitle(), after == null ? null : after.getTitle());
+        changes.diff("description", before == null ? null : before.getDescription(),
+                after == null ? null : after.getDescription());
+        changes.diff("status", before == null ? null : before.getStatus(), after == null ? null : after.getStatus());
+        changes.diff("priority", before == null ? null : before.getPriority(),
+                after == null ? null : after.getPriority());
+        changes.diff("category", before == null ? null : before.getCategory(),
+                after == null ? null : after.getCategory());
+        changes.diff("assignedToId", before == null ? null : before.getAssignedToId(),
+                after == null ? null : after.getAssignedToId());
+        changes.diff("teamId", before == null ? null : before.getTeamId(), after == null ? null : after.getTeamId());
+        changes.diff("deadline", before == null ? null : before.getDeadline(),
+                after == null ? null : after.getDeadline());
+        return changes;
+    }
+
+    /**
+     * The members of a merge patch. Previous values are only known for the counter
+     * columns, and only when the patch read them.
+     */
+    static ActivityChanges patched(Map<String, Object> patch, TaskCounterState previous) {
+        ActivityChanges changes = new ActivityChanges();
+        patch.forEach((field, value) -> {
+            if (previous == null) {
+                changes.set(field, value);
+                return;
+            }
+            switch (field) {
+                case "status" -> changes.diff(field, previous.status(), value);
+                case "priority" -> changes.diff(field, previous.priority(), value);
+                case "teamId" -> changes.diff(field, previous.teamId(), value);
+                default -> changes.set(field, value);
+            }
+        });
+        return changes;
+    }
+
+    ActivityChanges diff(String field, Object from, Object to) {
+        if (!Objects.equals(from, to)) {
+            Map<String, Object> change = new LinkedHashMap<>();
+            change.put("from", from);
+            change.put("to", to);
+            changes.put(field, change);
+        }
+        return this;
+    }
+
+    // For writes that did not read the previous value
+    ActivityChanges set(String field, Object to) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("to", to);
+        changes.put(field, change);
+        return this;
+    }
+
+    ActivityEvent toEvent(ActivitySubject subject, Long subjectId, String action) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication == null ? null : authentication.getName();
+        return new ActivityEvent(subject, subjectId, action, actor, changes, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,35 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.ActivityEntryResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in an activity history, which is read newest first by
+ * {@code (occurred_at, id)}.
+ */
+record ActivityCursor(LocalDateTime occurredAt, Long id) {
+
+    static ActivityCursor after(ActivityEntryResponse entry) {
+        return new ActivityCursor(entry.getOccurredAt(), entry.getId());
+    }
+
+    static ActivityCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            return new ActivityCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    String encode() {
+        String raw = occurredAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.ActivityEntryResponse;
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.repository.ActivityLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ActivityLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogService.class);
+
+    private final ActivityLogRepository activityLogRepository;
+
+    /**
+     * One page of a task's or team's history, newest first. History outlives the task
+     * or team, so their existence is not checked. A task's history includes the bulk
+     * updates that named it by id; bulk updates by filter are in its team's history,
+     * or in the task's own when it has no team.
+     */
+    public CursorPage<ActivityEntryResponse> getHistory(ActivitySubject subject, Long id, String after, int size) {
+        PageSizes.check(size);
+        logger.info("Fetching {} history of ID {}", subject, id);
+        ActivityCursor cursor = after == null || after.isBlank() ? null : ActivityCursor.decode(after);
+
+        List<ActivityEntryResponse> rows = activityLogRepository.findPage(subject, id,
+                cursor == null ? null : cursor.occurredAt(), cursor == null ? null : cursor.id(), size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ActivityEntryResponse> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext ? ActivityCursor.after(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+}
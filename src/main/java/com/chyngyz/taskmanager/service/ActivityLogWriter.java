@@ -0,0 +1,162 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.ActivityEvent;
+import com.chyngyz.taskmanager.dto.ActivityLogStatsResponse;
+import com.chyngyz.taskmanager.repository.ActivityLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes activity events off the request path.
+ * <p>
+ * Committed events go into a bounded in-memory queue that a single background thread
+ * drains into multi-row inserts, so a burst of writes costs one statement per batch
+ * rather than one per change. When the queue is full a producer waits at most
+ * {@code taskmanager.activity.offer-timeout} and then drops the event; waits and
+ * drops are counted in {@link #getStats()}. Events still queued at shutdown are
+ * flushed, but a crash loses them: the log is an audit trail, not a source of truth.
+ */
+@Component
+public class ActivityLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private final ActivityLogRepository activityLogRepository;
+    private final BlockingQueue<ActivityEvent> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration pollInterval;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong producerWaits = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ActivityLogWriter(
+            ActivityLogRepository activityLogRepository,
+            @Value("${taskmanager.activity.queue-capacity:10000}") int capacity,
+            @Value("${taskmanager.activity.batch-size:500}") int batchSize,
+            @Value("${taskmanager.activity.offer-timeout:PT0.05S}") Duration offerTimeout,
+            @Value("${taskmanager.activity.poll-interval:PT0.5S}") Duration pollInterval) {
+        this.activityLogRepository = activityLogRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    // After commit, so rolled-back writes leave no history
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(ActivityEvent event) {
+        if (queue.offer(event)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+        producerWaits.incrementAndGet();
+        try {
+            if (queue.offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                enqueued.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            logger.warn("Activity log queue is full, {} events dropped so far", dropped.get());
+        }
+    }
+
+    public ActivityLogStatsResponse getStats() {
+        return ActivityLogStatsResponse.builder()
+                .queueDepth(queue.size())
+                .queueCapacity(capacity)
+                .enqueued(enqueued.get())
+                .producerWaits(producerWaits.get())
+                .dropped(dropped.get())
+                .written(written.get())
+                .failed(failed.get())
+                .batches(batches.get())
+                .lastBatchSize(lastBatchSize)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("activity-log-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(pollInterval.multipliedBy(4).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Below the web server's start/stop phase, so the writer starts before requests
+    // arrive and stops only after in-flight requests have finished and queued theirs
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void drain() {
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ActivityEvent first = queue.poll(pollInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<ActivityEvent> batch) {
+        try {
+            activityLogRepository.insertAll(batch);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+            lastBatchSize = batch.size();
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.error("Could not write {} activity events", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.repository.ActivityLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the partitions of the current and the next two months in place. The table has
+ * no default partition, so a row whose month is missing fails to insert; the extra
+ * month leaves a full month to notice a failing run.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityPartitionMaintainer.class);
+
+    private final ActivityLogRepository activityLogRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${taskmanager.activity.partition-cron:0 0 3 * * *}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        try {
+            if (activityLogRepository.createPartition(current)) {
+                activityLogRepository.createPartition(current.plusMonths(1));
+                activityLogRepository.createPartition(current.plusMonths(2));
+                logger.info("Activity log partitions ready through {}", current.plusMonths(2));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not create activity log partitions", e);
+        }
+    }
+}
@@ -2,20 +2,22 @@ package com.chyngyz.taskmanager.service;
 
 import com.chyngyz.taskmanager.dto.*;
 import com.chyngyz.taskmanager.entity.*;
-import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
+import com.chyngyz.taskmanager.security.AuthenticatedUserDetails;
 import com.chyngyz.taskmanager.security.JwtUtil;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
+import com.chyngyz.taskmanager.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.*;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +27,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     public AuthResponse register(RegisterRequest request) {
@@ -46,16 +49,8 @@ public class AuthService {
 
         userRepository.save(user);
 
-        String accessToken = jwtUtil.generateToken(user.getUsername(), user.getRole());
-        String refreshTokenStr = UUID.randomUUID().toString();
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(refreshTokenStr)
-                .user(user)
-                .expiryDate(LocalDateTime.now().plusDays(7))
-                .revoked(false)
-                .build();
-        refreshTokenRepository.save(refreshToken);
+        String accessToken = jwtUtil.generateToken(AuthenticatedUser.of(user));
+        String refreshTokenStr = refreshTokenService.issue(user);
         logger.info("Refresh token created for user '{}'", user.getUsername());
 
         return new AuthResponse(accessToken, refreshTokenStr);
@@ -63,46 +58,38 @@ public class AuthService {
 
     public AuthResponse login(String username, String password) {
         logger.info("User '{}' attempting to log in", username);
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        Authentication authentication =
+                authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // The user loaded to check the password carries the id, so it is not loaded again
+        AuthenticatedUser user = ((AuthenticatedUserDetails) authentication.getPrincipal()).getUser();
 
         logger.info("User '{}' logged in successfully", username);
 
-        String accessToken = jwtUtil.generateToken(user.getUsername(), user.getRole());
-        String refreshTokenStr = UUID.randomUUID().toString();
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(refreshTokenStr)
-                .user(user)
-                .expiryDate(LocalDateTime.now().plusDays(7))
-                .revoked(false)
-                .build();
-        refreshTokenRepository.save(refreshToken);
+        String accessToken = jwtUtil.generateToken(user);
+        String refreshTokenStr = refreshTokenService.issue(userRepository.getReferenceById(user.id()));
         logger.info("Refresh token generated for '{}'", username);
 
         return new AuthResponse(accessToken, refreshTokenStr);
     }
 
     public Optional<String> refreshToken(String refreshToken) {
-        logger.info("Attempting to refresh access token using refresh token: {}", refreshToken);
-        return refreshTokenRepository.findByToken(refreshToken)
-                .filter(token -> !token.isRevoked())
-                .filter(token -> token.getExpiryDate().isAfter(LocalDateTime.now()))
+        logger.info("Attempting to refresh access token");
+        return refreshTokenService.findActive(refreshToken)
                 .map(token -> {
                     User user = token.getUser();
                     logger.info("New access token issued for user '{}'", user.getUsername());
-                    return jwtUtil.generateToken(user.getUsername(), user.getRole());
+                    return jwtUtil.generateToken(AuthenticatedUser.of(user));
                 });
     }
 
     public void logout(String refreshToken) {
-        logger.info("Attempting to logout using refresh token: {}", refreshToken);
-        refreshTokenRepository.findByToken(refreshToken).ifPresent(token -> {
-            token.setRevoked(true);
-            refreshTokenRepository.save(token);
-            logger.info("Refresh token revoked for user '{}'", token.getUser().getUsername());
-        });
+        logger.info("Attempting to logout");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof VerifiedToken accessToken) {
+            tokenRevocationList.revoke(accessToken);
+        }
+        refreshTokenService.revoke(refreshToken).ifPresent(token ->
+                logger.info("Refresh token revoked for user '{}'", token.getUser().getUsername()));
     }
 }
@@ -0,0 +1,29 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.repository.TeamStatusCount;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a bulk update is about to change, read before the UPDATE runs while a filter
+ * still matches the old values: task counts per team and, when the request gave a
+ * filter, the ids of the matching tasks without a team.
+ */
+record BulkTargets(List<TeamStatusCount> teamCounts, List<Long> teamlessIds) {
+
+    BulkTargets() {
+        this(new ArrayList<>(), new ArrayList<>());
+    }
+
+    Set<Long> teamIds() {
+        return teamCounts.stream().map(TeamStatusCount::teamId).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    long teamRows() {
+        return teamCounts.stream().mapToLong(TeamStatusCount::count).sum();
+    }
+}
@@ -0,0 +1,82 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.CacheRegionStats;
+import com.chyngyz.taskmanager.dto.CacheStatsResponse;
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import com.chyngyz.taskmanager.dto.UserChangedEvent;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Explicit eviction and hit/miss reporting for the Hibernate second-level cache.
+ * Writes through the persistence context keep the cache current on their own;
+ * evicting after mutations also covers rows changed by bulk or native statements.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheService.class);
+
+    private static final String TEAM_MEMBERS_ROLE = Team.class.getName() + ".members";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictUser(Long id) {
+        logger.debug("Evicting user ID {} from second-level cache", id);
+        sessionFactory().getCache().evictEntityData(User.class, id);
+    }
+
+    public void evictTeam(Long id) {
+        logger.debug("Evicting team ID {} from second-level cache", id);
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(Team.class, id);
+        cache.evictCollectionData(TEAM_MEMBERS_ROLE, id);
+    }
+
+    // After commit, so a read racing the write cannot put the old rows back in the cache
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        evictTeam(event.teamId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    public CacheStatsResponse getStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            regions.add(new CacheRegionStats(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+        });
+        return CacheStatsResponse.builder()
+                .secondLevelHits(statistics.getSecondLevelCacheHitCount())
+                .secondLevelMisses(statistics.getSecondLevelCacheMissCount())
+                .secondLevelPuts(statistics.getSecondLevelCachePutCount())
+                .queryCacheHits(statistics.getQueryCacheHitCount())
+                .queryCacheMisses(statistics.getQueryCacheMissCount())
+                .queryCachePuts(statistics.getQueryCachePutCount())
+                .regions(regions)
+                .build();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -2,6 +2,7 @@ package com.chyngyz.taskmanager.service;
 
 import com.chyngyz.taskmanager.entity.User;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUserDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
@@ -23,10 +24,6 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         logger.info("User '{}' found, preparing UserDetails", username);
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .roles(user.getRole().name())
-                .build();
+        return new AuthenticatedUserDetails(user);
     }
 }
@@ -0,0 +1,176 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index used when the database has no full-text support (H2).
+ * Built from the tasks table at startup and kept current by {@link TaskService} once
+ * its transactions commit.
+ * Terms must all match; hits are ranked by TF-IDF with title terms weighted higher.
+ */
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskSearchIndex.class);
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private record Document(Long teamId, Set<String> terms) {
+    }
+
+    private record Hit(Long taskId, double score) {
+    }
+
+    public InMemoryTaskSearchIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Page<Task> page = taskRepository.findAll(PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id")));
+        while (true) {
+            page.forEach(this::index);
+            if (!page.hasNext()) {
+                break;
+            }
+            page = taskRepository.findAll(page.nextPageable());
+        }
+        logger.info("Search index loaded with {} tasks", documents.size());
+    }
+
+    /**
+     * Deleting a team sets {@code team_id} of its tasks to null through the foreign key,
+     * which {@link TaskService} never sees, so the tasks are moved out of the team here.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            documents.replaceAll((taskId, document) -> event.teamId().equals(document.teamId())
+                    ? new Document(null, document.terms()) : document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Long> search(String query, Long teamId, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.getOrDefault(term, Map.of());
+                double idf = Math.log((double) (documents.size() + 1) / (termPostings.size() + 1)) + 1;
+                Map<Long, Double> next = new HashMap<>();
+                for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                    Long taskId = posting.getKey();
+                    if (scores != null && !scores.containsKey(taskId)) {
+                        continue;
+                    }
+                    if (teamId != null && !teamId.equals(documents.get(taskId).teamId())) {
+                        continue;
+                    }
+                    double previous = scores != null ? scores.get(taskId) : 0;
+                    next.put(taskId, previous + posting.getValue() * idf);
+                }
+                scores = next;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            scores.forEach((taskId, score) -> hits.add(new Hit(taskId, score)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::taskId));
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<Long> ids = hits.subList(from, to).stream().map(Hit::taskId).toList();
+        return new PageImpl<>(ids, pageable, hits.size());
+    }
+
+    @Override
+    public void index(Task task) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(task.getTitle()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(task.getDescription()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        Long teamId = task.getTeam() != null ? task.getTeam().getId() : null;
+
+        lock.writeLock().lock();
+        try {
+            unindex(task.getId());
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(task.getId(), tf));
+            documents.put(task.getId(), new Document(teamId, frequencies.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            unindex(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(Long taskId) {
+        Document previous = documents.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(taskId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() > 1) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
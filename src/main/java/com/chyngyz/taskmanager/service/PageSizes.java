@@ -0,0 +1,22 @@
+package com.chyngyz.taskmanager.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Upper bound shared by every paged and cursor listing, so one request cannot ask the
+ * database for an unbounded number of rows.
+ */
+final class PageSizes {
+
+    static final int MAX = 100;
+
+    private PageSizes() {
+    }
+
+    static void check(int size) {
+        if (size < 1 || size > MAX) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.entity.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Searches the generated {@code tasks.search_vector} column through its GIN index.
+ * The column is maintained by Postgres, so writes need no extra work here.
+ */
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresTaskSearchIndex.class);
+
+    private static final String MATCH = """
+            FROM tasks, websearch_to_tsquery('simple', :q) query
+            WHERE search_vector @@ query
+              AND (CAST(:teamId AS BIGINT) IS NULL OR team_id = :teamId)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresTaskSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<Long> search(String query, Long teamId, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("teamId", teamId)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id " + MATCH + "ORDER BY ts_rank(search_vector, query) DESC, id LIMIT :limit OFFSET :offset",
+                params, Long.class);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) " + MATCH, params, Long.class);
+
+        logger.debug("Full-text query '{}' matched {} tasks", query, total);
+        return new PageImpl<>(ids, pageable, total != null ? total : 0);
+    }
+
+    @Override
+    public void index(Task task) {
+        // search_vector is a generated column
+    }
+
+    @Override
+    public void remove(Long taskId) {
+        // row deletion removes it from the GIN index
+    }
+}
@@ -0,0 +1,156 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.RefreshTokenStatsResponse;
+import com.chyngyz.taskmanager.entity.RefreshToken;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.RefreshTokenCounts;
+import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues and looks up refresh tokens. Only a SHA-256 digest of each token is stored,
+ * a user keeps at most {@code maxPerUser} usable tokens, and expired or revoked rows
+ * are deleted in small batches so the table stays bounded.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final Duration LIFETIME = Duration.ofDays(7);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int maxPerUser;
+    private final int purgeBatchSize;
+    private final SecureRandom random = new SecureRandom();
+
+    private final AtomicLong purged = new AtomicLong();
+    private volatile PurgeRun lastPurge;
+
+    private record PurgeRun(LocalDateTime at, long rows, int batches, Duration elapsed) {
+    }
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${taskmanager.auth.refresh-tokens-per-user:10}") int maxPerUser,
+                               @Value("${taskmanager.auth.refresh-token-purge-batch-size:500}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.maxPerUser = maxPerUser;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Stores a new token for the user and returns it. When the user now has more than
+     * {@code maxPerUser} usable tokens, the oldest ones are deleted.
+     */
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .user(user)
+                .expiryDate(now.plus(LIFETIME))
+                .revoked(false)
+                .build());
+
+        List<Long> active = refreshTokenRepository.findActiveIdsByUserId(user.getId(), now);
+        if (active.size() > maxPerUser) {
+            List<Long> evicted = active.subList(maxPerUser, active.size());
+            refreshTokenRepository.deleteAllByIdInBatch(evicted);
+            logger.info("Deleted {} oldest refresh tokens of user {} over the limit of {}",
+                    evicted.size(), user.getId(), maxPerUser);
+        }
+        return token;
+    }
+
+    public Optional<RefreshToken> findActive(String token) {
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(stored -> !stored.isRevoked())
+                .filter(stored -> stored.getExpiryDate().isAfter(LocalDateTime.now()));
+    }
+
+    public Optional<RefreshToken> revoke(String token) {
+        return refreshTokenRepository.findByTokenHash(hash(token)).map(stored -> {
+            stored.setRevoked(true);
+            return refreshTokenRepository.save(stored);
+        });
+    }
+
+    /**
+     * Deletes expired and revoked tokens, oldest first, one short transaction per
+     * batch so no lock is held for long. Each batch starts after the last id of the
+     * previous one, so a run reads the table once.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.auth.refresh-token-purge-interval:PT1H}",
+            initialDelayString = "${taskmanager.auth.refresh-token-purge-interval:PT1H}")
+    public long purge() {
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        long rows = 0;
+        int batches = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = refreshTokenRepository.findPurgeableIds(now, lastId, Limit.of(purgeBatchSize));
+            if (!ids.isEmpty()) {
+                rows += refreshTokenRepository.deletePurgeable(ids, now);
+                lastId = ids.get(ids.size() - 1);
+                batches++;
+            }
+        } while (ids.size() == purgeBatchSize);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        purged.addAndGet(rows);
+        lastPurge = new PurgeRun(now, rows, batches, elapsed);
+        if (rows > 0) {
+            logger.info("Purged {} expired or revoked refresh tokens in {} batches, {} ms",
+                    rows, batches, elapsed.toMillis());
+        }
+        return rows;
+    }
+
+    public RefreshTokenStatsResponse getStats() {
+        RefreshTokenCounts counts = refreshTokenRepository.counts(LocalDateTime.now());
+        PurgeRun run = lastPurge;
+        RefreshTokenStatsResponse.RefreshTokenStatsResponseBuilder stats = RefreshTokenStatsResponse.builder()
+                .rows(counts.rows())
+                .active(counts.active())
+                .purged(purged.get());
+        if (run != null) {
+            stats.lastPurgeAt(run.at())
+                    .lastPurgeRows(run.rows())
+                    .lastPurgeBatches(run.batches())
+                    .lastPurgeMillis(run.elapsed().toMillis())
+                    .lastPurgeRowsPerSecond(run.elapsed().isZero() ? 0 : run.rows() * 1e9 / run.elapsed().toNanos());
+        }
+        return stats.build();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset position for task listings: the value of the sort column and
+ * the id of the last row returned. Only indexed, non-null columns may be used
+ * as the sort key so that the seek predicate stays an index range scan.
+ */
+record TaskCursor(String sort, Sort.Direction direction, Comparable<?> value, Long id) {
+
+    private static final Map<String, Function<String, Comparable<?>>> SORTABLE = Map.of(
+            "id", Long::valueOf,
+            "createdAt", LocalDateTime::parse,
+            "updatedAt", LocalDateTime::parse,
+            "priority", Integer::valueOf
+    );
+
+    static void checkSortable(String sort) {
+        if (!SORTABLE.containsKey(sort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor pagination supports sort by " + SORTABLE.keySet());
+        }
+    }
+
+    static TaskCursor after(TaskResponse task, String sort, Sort.Direction direction) {
+        Comparable<?> value = switch (sort) {
+            case "createdAt" -> task.getCreatedAt();
+            case "updatedAt" -> task.getUpdatedAt();
+            case "priority" -> task.getPriority();
+            default -> task.getId();
+        };
+        return new TaskCursor(sort, direction, value, task.getId());
+    }
+
+    static TaskCursor decode(String token, String sort, Sort.Direction direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !parts[0].equals(sort) || !parts[1].equals(direction.name())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            return new TaskCursor(sort, direction, SORTABLE.get(sort).apply(parts[2]), Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    String encode() {
+        String raw = sort + "|" + direction.name() + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Sort order(String sort, Sort.Direction direction) {
+        return "id".equals(sort)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sort).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Rows strictly past this position. Written as {@code sort >= v AND (sort > v OR id > lastId)}
+     * (mirrored for descending order) so the leading conjunct is a plain range on the
+     * {@code (sort, id)} index rather than an OR the planner cannot seek on.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Specification<Task> seek() {
+        return (root, query, cb) -> {
+            Comparable v = value;
+            boolean asc = direction.isAscending();
+            if ("id".equals(sort)) {
+                return asc ? cb.greaterThan(root.get("id"), id) : cb.lessThan(root.get("id"), id);
+            }
+            return cb.and(
+                    asc ? cb.greaterThanOrEqualTo(root.get(sort), v) : cb.lessThanOrEqualTo(root.get(sort), v),
+                    cb.or(
+                            asc ? cb.greaterThan(root.get(sort), v) : cb.lessThan(root.get(sort), v),
+                            asc ? cb.greaterThan(root.get("id"), id) : cb.lessThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,270 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskChangedEvent;
+import com.chyngyz.taskmanager.dto.TaskFeedEvent;
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed task changes out to Server-Sent Event subscribers of each team.
+ * <p>
+ * Every team keeps its most recent events in a ring buffer so a reconnecting client
+ * can resume after its {@code Last-Event-ID}. Each subscriber has a bounded queue
+ * drained by its own virtual thread; a subscriber whose queue is full is dropped
+ * rather than slowing down the publisher, and resumes from the ring when it
+ * reconnects. Event ids start from the startup time so ids from before a restart
+ * are recognised as unknown and answered with a {@code RESET} event.
+ * <p>
+ * The ring holds {@link TaskFeedEvent}s, not whole tasks. A feed is dropped when its
+ * team is deleted or after {@code taskmanager.events.idle-timeout} without subscribers
+ * or events; a client resuming against a dropped feed gets a {@code RESET}.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<Long, TeamFeed> feeds = new ConcurrentHashMap<>();
+
+    private final int historySize;
+    private final int queueSize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Duration idleTimeout;
+
+    public TaskEventBroadcaster(
+            @Value("${taskmanager.events.history:1024}") int historySize,
+            @Value("${taskmanager.events.subscriber-queue:256}") int queueSize,
+            @Value("${taskmanager.events.heartbeat:PT15S}") Duration heartbeat,
+            @Value("${taskmanager.events.timeout:PT30M}") Duration timeout,
+            @Value("${taskmanager.events.idle-timeout:PT1H}") Duration idleTimeout) {
+        this.historySize = historySize;
+        this.queueSize = queueSize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.idleTimeout = idleTimeout;
+    }
+
+    // Runs after commit, so subscribers never see a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskFeedEvent feedEvent = TaskFeedEvent.of(event);
+        if (event.teamId() != null) {
+            feed(event.teamId()).publish(feedEvent);
+        }
+        if (event.previousTeamId() != null && !event.previousTeamId().equals(event.teamId())) {
+            feed(event.previousTeamId()).publish(feedEvent);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if (event.deleted()) {
+            TeamFeed feed = feeds.remove(event.teamId());
+            if (feed != null) {
+                feed.subscribers.forEach(Subscriber::close);
+                logger.info("Task event feed of deleted team {} removed", event.teamId());
+            }
+        }
+    }
+
+    /**
+     * Drops feeds that had neither subscribers nor events for the idle timeout. The
+     * check runs inside the map's per-key compute, which {@link #subscribe} also uses,
+     * so a feed cannot be dropped while a subscriber is joining it.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.events.idle-timeout:PT1H}",
+            initialDelayString = "${taskmanager.events.idle-timeout:PT1H}")
+    public void removeIdleFeeds() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        int before = feeds.size();
+        for (Long teamId : feeds.keySet()) {
+            feeds.computeIfPresent(teamId, (id, feed) -> feed.idleSince(cutoff) ? null : feed);
+        }
+        if (feeds.size() < before) {
+            logger.info("Removed {} idle task event feeds", before - feeds.size());
+        }
+    }
+
+    /**
+     * Opens a stream of the team's events. With {@code lastEventId} the retained events
+     * after it are replayed first, or a {@code RESET} is sent if some were lost.
+     */
+    public SseEmitter subscribe(Long teamId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(teamId, emitter, new ArrayBlockingQueue<>(queueSize));
+        feeds.compute(teamId, (id, feed) -> {
+            TeamFeed joined = feed != null ? feed : new TeamFeed(sequence.get());
+            joined.add(subscriber, lastEventId);
+            return joined;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.drainer = Thread.ofVirtual().name("task-events-" + teamId).start(subscriber::drain);
+        return emitter;
+    }
+
+    int subscriberCount(Long teamId) {
+        TeamFeed feed = feeds.get(teamId);
+        return feed == null ? 0 : feed.subscribers.size();
+    }
+
+    private TeamFeed feed(Long teamId) {
+        return feeds.computeIfAbsent(teamId, id -> new TeamFeed(sequence.get()));
+    }
+
+    int feedCount() {
+        return feeds.size();
+    }
+
+    private record Sequenced(long id, TaskFeedEvent event) {
+    }
+
+    private final class TeamFeed {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Sequenced> history = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        // Highest id this feed can no longer replay: evicted, or assigned before the feed existed
+        private long forgottenUpTo;
+        private volatile long lastActiveAt = System.nanoTime();
+
+        TeamFeed(long createdAt) {
+            this.forgottenUpTo = createdAt;
+        }
+
+        boolean idleSince(long cutoff) {
+            return subscribers.isEmpty() && lastActiveAt - cutoff < 0;
+        }
+
+        void publish(TaskFeedEvent event) {
+            lock.lock();
+            try {
+                lastActiveAt = System.nanoTime();
+                Sequenced sequenced = new Sequenced(sequence.incrementAndGet(), event);
+                if (history.size() == historySize) {
+                    forgottenUpTo = history.removeFirst().id();
+                }
+                history.addLast(sequenced);
+                for (Subscriber subscriber : subscribers) {
+                    if (!subscriber.queue.offer(sequenced)) {
+                        logger.warn("Dropping slow task event subscriber of team {}", subscriber.teamId);
+                        subscriber.close();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Replay and registration happen under the publish lock, so no event is missed or repeated
+        void add(Subscriber subscriber, Long lastEventId) {
+            lock.lock();
+            try {
+                lastActiveAt = System.nanoTime();
+                if (lastEventId != null) {
+                    if (lastEventId < forgottenUpTo || lastEventId > sequence.get()) {
+                        subscriber.replay.add(new Sequenced(sequence.get(),
+                                TaskFeedEvent.of(TaskChangedEvent.reset(subscriber.teamId))));
+                    } else {
+                        for (Sequenced sequenced : history) {
+                            if (sequenced.id() > lastEventId) {
+                                subscriber.replay.add(sequenced);
+                            }
+                        }
+                    }
+                }
+                subscribers.add(subscriber);
+            } finally {
+                lock.unlock();
+            }
+            logger.info("Task event subscriber added to team {} ({} replayed)", subscriber.teamId, subscriber.replay.size());
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Long teamId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Sequenced> queue;
+        private final List<Sequenced> replay = new ArrayList<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        Subscriber(Long teamId, SseEmitter emitter, BlockingQueue<Sequenced> queue) {
+            this.teamId = teamId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void drain() {
+            try {
+                for (Sequenced sequenced : replay) {
+                    send(sequenced);
+                }
+                while (!closed.get()) {
+                    Sequenced next = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        send(next);
+                    } else if (!closed.get()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Task event subscriber of team {} disconnected: {}", teamId, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private void send(Sequenced sequenced) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(sequenced.id()))
+                    .name(sequenced.event().type().name())
+                    .data(sequenced.event(), MediaType.APPLICATION_JSON));
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            TeamFeed feed = feeds.get(teamId);
+            if (feed != null) {
+                feed.lastActiveAt = System.nanoTime();
+                feed.subscribers.remove(this);
+            }
+            emitter.complete();
+            Thread thread = drainer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.chyngyz.taskmanager.service;
+
+public enum TaskImportFormat {
+    NDJSON,
+    CSV
+}
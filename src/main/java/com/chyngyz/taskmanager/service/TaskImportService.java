@@ -0,0 +1,104 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.BulkItemError;
+import com.chyngyz.taskmanager.dto.TaskImportResult;
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports tasks from an NDJSON or CSV stream. Rows are parsed incrementally and
+ * committed in batches, each batch in its own transaction, so memory stays bounded
+ * and a failure only loses the batch in flight.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskImportResult importTasks(InputStream body, TaskImportFormat format, int batchSize) throws IOException {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "batchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        Long creatorId = taskService.currentUserId();
+        logger.info("Starting {} task import for user ID {} with batch size {}", format, creatorId, batchSize);
+
+        // Lives for the whole import, so each assignee/team id is looked up at most once
+        TaskReferences references = taskService.newReferences();
+        Progress progress = new Progress();
+
+        try (TaskRowReader reader = TaskRowReader.open(format, body, objectMapper.readerFor(TaskRequest.class))) {
+            List<TaskRequest> batch = new ArrayList<>(batchSize);
+            List<Long> rowIndexes = new ArrayList<>(batchSize);
+            TaskRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                progress.processed++;
+                if (row.error() != null) {
+                    progress.reject(row.index(), row.error());
+                    continue;
+                }
+                batch.add(row.request());
+                rowIndexes.add(row.index());
+                if (batch.size() == batchSize) {
+                    commit(batch, rowIndexes, creatorId, references, progress);
+                }
+            }
+            if (!batch.isEmpty()) {
+                commit(batch, rowIndexes, creatorId, references, progress);
+            }
+        }
+
+        logger.info("Task import finished: {} rows, {} imported, {} rejected in {} batches",
+                progress.processed, progress.imported, progress.rejected, progress.batches);
+        return new TaskImportResult(progress.processed, progress.imported, progress.rejected,
+                progress.batches, progress.errors);
+    }
+
+    private void commit(List<TaskRequest> batch, List<Long> rowIndexes, Long creatorId,
+                        TaskReferences references, Progress progress) {
+        Integer inserted = transactionTemplate.execute(status -> taskService.insertBatch(batch, creatorId, references,
+                (i, error) -> progress.reject(rowIndexes.get(i), error)).size());
+        progress.imported += inserted;
+        progress.batches++;
+        batch.clear();
+        rowIndexes.clear();
+        logger.info("Task import progress: {} rows read, {} imported, {} rejected",
+                progress.processed, progress.imported, progress.rejected);
+    }
+
+    private static final class Progress {
+        long processed;
+        long imported;
+        long rejected;
+        int batches;
+        final List<BulkItemError> errors = new ArrayList<>();
+
+        void reject(long index, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkItemError(index, message));
+            }
+        }
+    }
+}
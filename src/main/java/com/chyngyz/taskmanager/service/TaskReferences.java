@@ -0,0 +1,80 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-operation cache of which assignee and team ids exist. Each batch of requests
+ * costs at most one id-only lookup per table for ids not seen before; tasks then
+ * point at uninitialized references, so no user or team rows are loaded.
+ */
+class TaskReferences {
+
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final EntityManager entityManager;
+
+    private final Set<Long> knownUsers = new HashSet<>();
+    private final Set<Long> missingUsers = new HashSet<>();
+    private final Set<Long> knownTeams = new HashSet<>();
+    private final Set<Long> missingTeams = new HashSet<>();
+
+    TaskReferences(UserRepository userRepository, TeamRepository teamRepository, EntityManager entityManager) {
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.entityManager = entityManager;
+    }
+
+    void prefetch(Collection<TaskRequest> requests) {
+        Set<Long> userIds = unseen(requests.stream().filter(Objects::nonNull).map(TaskRequest::getAssignedToId),
+                knownUsers, missingUsers);
+        if (!userIds.isEmpty()) {
+            Set<Long> existing = userRepository.findExistingIds(userIds);
+            knownUsers.addAll(existing);
+            userIds.removeAll(existing);
+            missingUsers.addAll(userIds);
+        }
+
+        Set<Long> teamIds = unseen(requests.stream().filter(Objects::nonNull).map(TaskRequest::getTeamId),
+                knownTeams, missingTeams);
+        if (!teamIds.isEmpty()) {
+            Set<Long> existing = teamRepository.findExistingIds(teamIds);
+            knownTeams.addAll(existing);
+            teamIds.removeAll(existing);
+            missingTeams.addAll(teamIds);
+        }
+    }
+
+    boolean userExists(Long id) {
+        return id == null || knownUsers.contains(id);
+    }
+
+    boolean teamExists(Long id) {
+        return id == null || knownTeams.contains(id);
+    }
+
+    User user(Long id) {
+        return id != null ? entityManager.getReference(User.class, id) : null;
+    }
+
+    Team team(Long id) {
+        return id != null ? entityManager.getReference(Team.class, id) : null;
+    }
+
+    private static Set<Long> unseen(Stream<Long> ids, Set<Long> known, Set<Long> missing) {
+        return ids.filter(Objects::nonNull)
+                .filter(id -> !known.contains(id) && !missing.contains(id))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -0,0 +1,188 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads import rows one at a time from the request body, so a file of any size is
+ * never held in memory. A row that cannot be parsed is returned with an error
+ * instead of aborting the import.
+ */
+abstract class TaskRowReader implements Closeable {
+
+    record Row(long index, TaskRequest request, String error) {
+    }
+
+    protected final BufferedReader reader;
+    protected long index;
+
+    private TaskRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    static TaskRowReader open(TaskImportFormat format, InputStream in, ObjectReader json) throws IOException {
+        return format == TaskImportFormat.CSV ? new Csv(in) : new Ndjson(in, json);
+    }
+
+    /**
+     * Returns the next row, or {@code null} once the input is exhausted.
+     */
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Ndjson extends TaskRowReader {
+
+        private final ObjectReader json;
+
+        Ndjson(InputStream in, ObjectReader json) {
+            super(in);
+            this.json = json;
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            long rowIndex = index++;
+            try {
+                return new Row(rowIndex, json.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new Row(rowIndex, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 records with a header row. Columns written by the export that cannot
+     * be imported (ids and timestamps) are ignored, so an export can be re-imported.
+     */
+    private static final class Csv extends TaskRowReader {
+
+        private static final Map<String, BiConsumer<TaskRequest, String>> COLUMNS = Map.of(
+                "title", TaskRequest::setTitle,
+                "description", TaskRequest::setDescription,
+                "status", (task, value) -> task.setStatus(TaskStatus.valueOf(value.toUpperCase(Locale.ROOT))),
+                "priority", (task, value) -> task.setPriority(Integer.valueOf(value)),
+                "category", TaskRequest::setCategory,
+                "assignedtoid", (task, value) -> task.setAssignedToId(Long.valueOf(value)),
+                "teamid", (task, value) -> task.setTeamId(Long.valueOf(value)),
+                "deadline", (task, value) -> task.setDeadline(LocalDateTime.parse(value)));
+
+        private static final Set<String> IGNORED = Set.of("id", "createdbyid", "createdat", "updatedat");
+
+        private final List<String> header;
+
+        Csv(InputStream in) throws IOException {
+            super(in);
+            List<String> names = readRecord();
+            header = new ArrayList<>();
+            if (names == null) {
+                return;
+            }
+            for (String name : names) {
+                String column = name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                if (!COLUMNS.containsKey(column) && !IGNORED.contains(column)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown CSV column: " + name);
+                }
+                header.add(column);
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+            long rowIndex = index++;
+            if (fields.size() != header.size()) {
+                return new Row(rowIndex, null, "Expected " + header.size() + " fields but found " + fields.size());
+            }
+            TaskRequest request = new TaskRequest();
+            for (int i = 0; i < fields.size(); i++) {
+                BiConsumer<TaskRequest, String> setter = COLUMNS.get(header.get(i));
+                String value = fields.get(i);
+                if (setter == null || value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    setter.accept(request, value);
+                } catch (RuntimeException e) {
+                    return new Row(rowIndex, null, header.get(i) + ": invalid value '" + value + "'");
+                }
+            }
+            return new Row(rowIndex, request, null);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unterminated quoted field in CSV row " + index);
+                    }
+                    if (c == '"') {
+                        int following = reader.read();
+                        if (following != '"') {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Configuration
+public class TaskSearchConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchConfig.class);
+
+    @Bean
+    public TaskSearchIndex taskSearchIndex(DataSource dataSource,
+                                           NamedParameterJdbcTemplate jdbcTemplate,
+                                           TaskRepository taskRepository) throws SQLException {
+        String product;
+        try (Connection connection = dataSource.getConnection()) {
+            product = connection.getMetaData().getDatabaseProductName();
+        }
+        logger.info("Using {} full-text search for tasks", "PostgreSQL".equals(product) ? "PostgreSQL" : "in-memory");
+        return "PostgreSQL".equals(product)
+                ? new PostgresTaskSearchIndex(jdbcTemplate)
+                : new InMemoryTaskSearchIndex(taskRepository);
+    }
+}
@@ -0,0 +1,18 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.entity.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Full-text index over task titles and descriptions. Results are task ids in
+ * rank order; callers load the rows themselves.
+ */
+public interface TaskSearchIndex {
+
+    Page<Long> search(String query, Long teamId, Pageable pageable);
+
+    void index(Task task);
+
+    void remove(Long taskId);
+}
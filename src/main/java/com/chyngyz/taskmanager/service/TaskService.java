@@ -1,19 +1,58 @@
 package com.chyngyz.taskmanager.service;
 
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.BulkAssignRequest;
+import com.chyngyz.taskmanager.dto.BulkItemError;
+import com.chyngyz.taskmanager.dto.BulkStatusRequest;
+import com.chyngyz.taskmanager.dto.BulkTaskResponse;
+import com.chyngyz.taskmanager.dto.BulkUpdateResponse;
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.dto.TaskChangedEvent;
+import com.chyngyz.taskmanager.dto.TaskEventType;
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TaskPatchRequest;
 import com.chyngyz.taskmanager.dto.TaskRequest;
 import com.chyngyz.taskmanager.dto.TaskResponse;
 import com.chyngyz.taskmanager.entity.*;
+import com.chyngyz.taskmanager.repository.TaskCounterState;
 import com.chyngyz.taskmanager.repository.TaskRepository;
+import com.chyngyz.taskmanager.repository.TaskSpecifications;
+import com.chyngyz.taskmanager.repository.TaskWatermark;
 import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.TeamStatusCount;
+import com.chyngyz.taskmanager.repository.TeamTaskCounterRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,19 +60,38 @@ public class TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
+    static final int MAX_BULK_SIZE = 10_000;
+    static final int BATCH_SIZE = 50;
+    static final int ID_CHUNK_SIZE = 1_000;
+    static final int MAX_VERSION_RETRIES = 3;
+
+    // TaskPatchRequest property -> Task attribute
+    private static final Map<String, String> PATCH_ATTRIBUTES = Map.of(
+            "title", "title",
+            "description", "description",
+            "status", "status",
+            "priority", "priority",
+            "category", "category",
+            "assignedToId", "assignedTo",
+            "teamId", "team",
+            "deadline", "deadline");
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TeamRepository teamRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TeamTaskCounterRepository teamTaskCounterRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public TaskResponse createTask(TaskRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        logger.info("Creating task by user: {}", username);
+        AuthenticatedUser principal = AuthenticatedUser.current();
+        logger.info("Creating task by user: {}", principal.username());
 
-        User creator = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.error("User '{}' not found", username);
-                    return new UsernameNotFoundException("User not found");
-                });
+        // Only the creator's id is written, so an unloaded reference is enough
+        User creator = entityManager.getReference(User.class, principal.id());
 
         User assignedTo = null;
         if (request.getAssignedToId() != null) {
@@ -62,12 +120,135 @@ public class TaskService {
                 .build();
 
         taskRepository.save(task);
+        afterCommit(() -> taskSearchIndex.index(task));
+        countMove(null, TeamTaskCounterRepository.Key.of(task));
         logger.info("Task created: {}", task.getTitle());
 
-        return toResponse(task);
+        TaskResponse response = toResponse(task);
+        publish(TaskEventType.CREATED, response, null, ActivityChanges.between(null, response));
+        return response;
+    }
+
+    /**
+     * Creates all valid items in one transaction. Invalid items are skipped and
+     * reported by their index in the request; the rest are still inserted.
+     */
+    @Transactional
+    public BulkTaskResponse createTasks(List<TaskRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_SIZE + " tasks can be created per request");
+        }
+        logger.info("Bulk creating {} tasks", requests.size());
+        Long creatorId = currentUserId();
+        TaskReferences references = newReferences();
+
+        List<BulkItemError> errors = new ArrayList<>();
+        List<TaskResponse> created = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += BATCH_SIZE) {
+            int offset = from;
+            List<TaskRequest> batch = requests.subList(from, Math.min(from + BATCH_SIZE, requests.size()));
+            insertBatch(batch, creatorId, references, (i, error) -> errors.add(new BulkItemError(offset + i, error)))
+                    .forEach(task -> created.add(toResponse(task)));
+        }
+
+        logger.info("Bulk create finished: {} created, {} rejected", created.size(), errors.size());
+        return new BulkTaskResponse(created, errors);
+    }
+
+    /**
+     * Validates, inserts and indexes one batch in the caller's transaction, then clears
+     * the persistence context. Rejected items are passed to {@code onReject} by their
+     * position in the batch.
+     */
+    List<Task> insertBatch(List<TaskRequest> batch, Long creatorId, TaskReferences references,
+                           BiConsumer<Integer, String> onReject) {
+        references.prefetch(batch);
+        List<Task> tasks = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            TaskRequest request = batch.get(i);
+            String error = validate(request, references);
+            if (error != null) {
+                onReject.accept(i, error);
+            } else {
+                tasks.add(toEntity(request, references.user(creatorId), references));
+            }
+        }
+        tasks.forEach(entityManager::persist);
+        entityManager.flush();
+        afterCommit(() -> tasks.forEach(taskSearchIndex::index));
+
+        Map<TeamTaskCounterRepository.Key, Long> counts = new HashMap<>();
+        for (Task task : tasks) {
+            TeamTaskCounterRepository.Key key = TeamTaskCounterRepository.Key.of(task);
+            if (key != null) {
+                counts.merge(key, 1L, Long::sum);
+            }
+        }
+        teamTaskCounterRepository.add(counts);
+        entityManager.clear();
+        // One feed and webhook event per team rather than per row; the history stays per task
+        Map<Long, List<Long>> idsByTeam = new HashMap<>();
+        for (Task task : tasks) {
+            TaskResponse response = toResponse(task);
+            idsByTeam.computeIfAbsent(response.getTeamId(), teamId -> new ArrayList<>()).add(response.getId());
+            eventPublisher.publishEvent(ActivityChanges.between(null, response)
+                    .toEvent(ActivitySubject.TASK, response.getId(), TaskEventType.CREATED.name()));
+        }
+        idsByTeam.forEach((teamId, ids) -> eventPublisher.publishEvent(TaskChangedEvent.bulkCreated(teamId, ids)));
+        return tasks;
     }
 
-    public TaskResponse updateTask(Long id, TaskRequest request) {
+    Long currentUserId() {
+        return AuthenticatedUser.current().id();
+    }
+
+    TaskReferences newReferences() {
+        return new TaskReferences(userRepository, teamRepository, entityManager);
+    }
+
+    String validate(TaskRequest request, TaskReferences references) {
+        if (request == null) {
+            return "Task must not be null";
+        }
+        List<String> problems = new ArrayList<>();
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(request)) {
+            problems.add(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+        if (!references.userExists(request.getAssignedToId())) {
+            problems.add("assignedToId " + request.getAssignedToId() + " does not exist");
+        }
+        if (!references.teamExists(request.getTeamId())) {
+            problems.add("teamId " + request.getTeamId() + " does not exist");
+        }
+        if (problems.isEmpty()) {
+            return null;
+        }
+        problems.sort(null);
+        return String.join("; ", problems);
+    }
+
+    Task toEntity(TaskRequest request, User creator, TaskReferences references) {
+        return Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .status(request.getStatus())
+                .priority(request.getPriority())
+                .category(request.getCategory())
+                .createdBy(creator)
+                .assignedTo(references.user(request.getAssignedToId()))
+                .team(references.team(request.getTeamId()))
+                .deadline(request.getDeadline())
+                .build();
+    }
+
+    /**
+     * Replaces the task's fields. With {@code expectedVersion} the update only applies
+     * to that version; either way the version check at flush rejects a concurrent
+     * write that landed after the task was read.
+     */
+    @Transactional
+    public TaskResponse updateTask(Long id, TaskRequest request, Long expectedVersion) {
         logger.info("Updating task with ID {}", id);
 
         Task task = taskRepository.findById(id)
@@ -75,6 +256,10 @@ public class TaskService {
                     logger.error("Task with ID {} not found", id);
                     return new EntityNotFoundException("Task not found");
                 });
+        checkVersion(id, expectedVersion, task.getVersion());
+        TaskResponse previous = toResponse(task);
+        TeamTaskCounterRepository.Key before = TeamTaskCounterRepository.Key.of(task);
+        Long previousTeamId = task.getTeam() != null ? task.getTeam().getId() : null;
 
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
@@ -97,13 +282,29 @@ public class TaskService {
             task.setTeam(team);
         }
 
+        // Flushed here so the response carries the incremented version
+        Task saved = taskRepository.saveAndFlush(task);
+        countMove(before, TeamTaskCounterRepository.Key.of(saved));
+        afterCommit(() -> taskSearchIndex.index(saved));
         logger.info("Task with ID {} updated successfully", id);
-        return toResponse(taskRepository.save(task));
+        TaskResponse response = toResponse(saved);
+        publish(TaskEventType.UPDATED, response, previousTeamId, ActivityChanges.between(previous, response));
+        return response;
     }
 
+    @Transactional
     public void deleteTask(Long id) {
         logger.info("Deleting task with ID {}", id);
+        Optional<Task> task = taskRepository.findById(id);
+        task.ifPresent(found -> countMove(TeamTaskCounterRepository.Key.of(found), null));
         taskRepository.deleteById(id);
+        afterCommit(() -> taskSearchIndex.remove(id));
+        task.ifPresent(found -> {
+            eventPublisher.publishEvent(
+                    TaskChangedEvent.deleted(id, found.getTeam() != null ? found.getTeam().getId() : null));
+            eventPublisher.publishEvent(ActivityChanges.between(toResponse(found), null)
+                    .toEvent(ActivitySubject.TASK, id, TaskEventType.DELETED.name()));
+        });
     }
 
     public Page<TaskResponse> getTasks(
@@ -111,61 +312,393 @@ public class TaskService {
             Long assignedToId, Long createdById, Long teamId,
             int page, int size, String sort
     ) {
+        PageSizes.check(size);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
         logger.info("Fetching tasks with filters: category={}, status={}, priority={}, assignedToId={}, createdById={}, teamId={}",
                 category, status, priority, assignedToId, createdById, teamId);
 
-        Page<Task> tasks;
-
-        if (category != null && status != null) {
-            tasks = taskRepository.findByCategoryAndStatus(category, status, pageable);
-        } else if (category != null) {
-            tasks = taskRepository.findByCategory(category, pageable);
-        } else if (status != null) {
-            tasks = taskRepository.findByStatus(status, pageable);
-        } else if (priority != null) {
-            tasks = taskRepository.findByPriority(priority, pageable);
-        } else if (assignedToId != null) {
-            tasks = taskRepository.findByAssignedToId(assignedToId, pageable);
-        } else if (createdById != null) {
-            tasks = taskRepository.findByCreatedById(createdById, pageable);
-        } else if (teamId != null) {
-            tasks = taskRepository.findByTeamId(teamId, pageable);
-        } else {
-            tasks = taskRepository.findAll(pageable);
-        }
+        TaskFilter filter = TaskFilter.builder()
+                .category(category)
+                .status(status)
+                .priority(priority)
+                .assignedToId(assignedToId)
+                .createdById(createdById)
+                .teamId(teamId)
+                .build();
+
+        Page<TaskResponse> tasks = taskRepository.findResponses(TaskSpecifications.matching(filter), pageable);
 
         logger.info("Found {} tasks", tasks.getTotalElements());
-        return tasks.map(this::toResponse);
+        return tasks;
+    }
+
+    public Page<TaskResponse> searchTasks(String query, Long teamId, int page, int size) {
+        PageSizes.check(size);
+        logger.info("Searching tasks for '{}' in team {}", query, teamId);
+        Page<Long> ids = taskSearchIndex.search(query, teamId, PageRequest.of(page, size));
+        if (ids.isEmpty()) {
+            return Page.empty(ids.getPageable());
+        }
+
+        Map<Long, TaskResponse> tasks = taskRepository
+                .findResponses(TaskSpecifications.withIds(ids.getContent()), Sort.unsorted(), ids.getNumberOfElements())
+                .stream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+
+        List<TaskResponse> content = ids.getContent().stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    public CursorPage<TaskResponse> getTasksAfter(TaskFilter filter, String after, int size,
+                                                  String sort, Sort.Direction direction) {
+        TaskCursor.checkSortable(sort);
+        PageSizes.check(size);
+        logger.info("Fetching tasks after cursor with filter {}, sort={} {}", filter, sort, direction);
+
+        Specification<Task> spec = TaskSpecifications.matching(filter);
+        if (after != null && !after.isBlank()) {
+            spec = spec.and(TaskCursor.decode(after, sort, direction).seek());
+        }
+        Sort order = TaskCursor.order(sort, direction);
+
+        List<TaskResponse> rows = taskRepository.findResponses(spec, order, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TaskResponse> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext
+                ? TaskCursor.after(content.get(content.size() - 1), sort, direction).encode()
+                : null;
+
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Feeds every matching task to {@code sink} in id order from a fetch-size cursor,
+     * so memory use does not grow with the size of the export.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(TaskFilter filter, Consumer<TaskResponse> sink) {
+        logger.info("Exporting tasks with filter: {}", filter);
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponses(
+                TaskSpecifications.matching(filter), Sort.by("id"))) {
+            tasks.forEach(sink);
+        }
     }
 
     public TaskResponse getTaskById(Long id) {
         logger.info("Fetching task by ID {}", id);
-        Task task = taskRepository.findById(id)
+        return taskRepository.findResponseById(id)
+                .orElseThrow(() -> {
+                    logger.error("Task with ID {} not found", id);
+                    return new EntityNotFoundException("Task not found");
+                });
+    }
+
+    /**
+     * Current version of a task, read from its {@code version} column alone so that
+     * revalidating an unchanged task neither loads the entity nor builds a response.
+     */
+    public long getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id)
                 .orElseThrow(() -> {
                     logger.error("Task with ID {} not found", id);
                     return new EntityNotFoundException("Task not found");
                 });
+    }
 
-        return toResponse(task);
+    /**
+     * ETag of one page of a filtered listing: the request parameters plus the count
+     * and latest update time of every task matching the filter.
+     */
+    public String getTasksETag(TaskFilter filter, int page, int size, String sort) {
+        PageSizes.check(size);
+        TaskWatermark watermark = taskRepository.watermark(TaskSpecifications.matching(filter));
+        return ETags.of("tasks", filter, page, size, sort, watermark.count(), watermark.lastUpdatedAt());
     }
 
-    public TaskResponse updateTaskStatus(Long id, TaskStatus status) {
+    /**
+     * Single-statement {@code UPDATE ... WHERE id = ? AND version = ?}. The counter
+     * columns are read first so the team counters can be moved; if another writer
+     * gets in between, the update matches no row and is retried from a fresh read,
+     * unless the caller asked for a specific version.
+     */
+    @Transactional
+    public TaskResponse updateTaskStatus(Long id, TaskStatus status, Long expectedVersion) {
         logger.info("Updating status of task ID {} to {}", id, status);
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        task.setStatus(status);
-        return toResponse(taskRepository.save(task));
+        TaskCounterState previous = updateCounted(id, expectedVersion,
+                spec -> taskRepository.updateStatus(spec, status),
+                current -> current.teamId() == null ? null
+                        : new TeamTaskCounterRepository.Key(current.teamId(), status, current.priority()));
+        TaskResponse response = getTaskById(id);
+        publish(TaskEventType.STATUS_CHANGED, response, null,
+                new ActivityChanges().diff("status", previous.status(), status));
+        return response;
     }
 
-    public TaskResponse assignTask(Long taskId, Long userId) {
+    /**
+     * Single-statement assignment. The assignee does not feed any counter, so without
+     * an expected version no read of the task is needed at all.
+     */
+    @Transactional
+    public TaskResponse assignTask(Long taskId, Long userId, Long expectedVersion) {
         logger.info("Assigning task ID {} to user ID {}", taskId, userId);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        task.setAssignedTo(user);
-        return toResponse(taskRepository.save(task));
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        updateUncounted(taskId, expectedVersion, spec -> taskRepository.updateAssignee(spec, userId));
+        TaskResponse response = getTaskById(taskId);
+        publish(TaskEventType.ASSIGNED, response, null, new ActivityChanges().set("assignedToId", userId));
+        return response;
+    }
+
+    /**
+     * Applies a JSON Merge Patch as one {@code UPDATE} that sets only the members present
+     * in the patch. The task is not read first unless the patch moves it between team
+     * counters (status, priority or team), and is only re-read for the search index when
+     * a searchable field changed.
+     */
+    @Transactional
+    public TaskResponse patchTask(Long id, TaskPatchRequest patch, Long expectedVersion) {
+        Map<String, Object> changes = patch.getChanges();
+        logger.info("Patching task ID {} fields {}", id, changes.keySet());
+        checkPatch(changes);
+        if (changes.isEmpty()) {
+            checkVersion(id, expectedVersion, getTaskVersion(id));
+            return getTaskById(id);
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        changes.forEach((field, value) -> values.put(PATCH_ATTRIBUTES.get(field), value));
+        ToIntFunction<Specification<Task>> update = spec -> taskRepository.updateFields(spec, values);
+
+        TaskCounterState previous = null;
+        if (changes.containsKey("status") || changes.containsKey("priority") || changes.containsKey("teamId")) {
+            previous = updateCounted(id, expectedVersion, update, current -> {
+                Long teamId = changes.containsKey("teamId") ? (Long) changes.get("teamId") : current.teamId();
+                return teamId == null ? null : new TeamTaskCounterRepository.Key(teamId,
+                        (TaskStatus) changes.getOrDefault("status", current.status()),
+                        (Integer) changes.getOrDefault("priority", current.priority()));
+            });
+        } else {
+            updateUncounted(id, expectedVersion, update);
+        }
+
+        if (changes.containsKey("title") || changes.containsKey("description") || changes.containsKey("teamId")) {
+            taskRepository.findById(id).ifPresent(task -> afterCommit(() -> taskSearchIndex.index(task)));
+        }
+        TaskResponse response = getTaskById(id);
+        publish(TaskEventType.UPDATED, response, previous == null ? null : previous.teamId(),
+                ActivityChanges.patched(changes, previous));
+        return response;
+    }
+
+    @Transactional
+    public BulkUpdateResponse updateTaskStatuses(BulkStatusRequest request) {
+        if (request.getStatus() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status is required");
+        }
+        logger.info("Bulk updating task status to {}", request.getStatus());
+        BulkTargets targets = new BulkTargets();
+        long updated = updateTargets(request.getIds(), request.getFilter(), spec -> {
+            moveCounts(readTargets(spec, request.getFilter() != null, targets), request.getStatus());
+            return taskRepository.updateStatus(spec, request.getStatus());
+        });
+        recordBulk(targets, request.getIds(), request.getFilter(), updated, "status", request.getStatus());
+        logger.info("Bulk status update changed {} tasks", updated);
+        return new BulkUpdateResponse(updated);
+    }
+
+    @Transactional
+    public BulkUpdateResponse assignTasks(BulkAssignRequest request) {
+        if (request.getUserId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId is required");
+        }
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new EntityNotFoundException("User not found");
+        }
+        logger.info("Bulk assigning tasks to user ID {}", request.getUserId());
+        BulkTargets targets = new BulkTargets();
+        long updated = updateTargets(request.getIds(), request.getFilter(), spec -> {
+            readTargets(spec, request.getFilter() != null, targets);
+            return taskRepository.updateAssignee(spec, request.getUserId());
+        });
+        recordBulk(targets, request.getIds(), request.getFilter(), updated, "assignedToId", request.getUserId());
+        logger.info("Bulk assignment changed {} tasks", updated);
+        return new BulkUpdateResponse(updated);
+    }
+
+    /**
+     * Runs the update once for a filter, or once per chunk of ids so the IN list
+     * stays within driver bind-parameter limits.
+     */
+    private long updateTargets(List<Long> ids, TaskFilter filter, ToIntFunction<Specification<Task>> update) {
+        if ((ids == null) == (filter == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of ids or filter must be given");
+        }
+        if (filter != null) {
+            if (filter.equals(new TaskFilter())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "filter must set at least one field");
+            }
+            return update.applyAsInt(TaskSpecifications.matching(filter));
+        }
+        long updated = 0;
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            updated += update.applyAsInt(TaskSpecifications.withIds(chunk));
+        }
+        return updated;
+    }
+
+    private void checkPatch(Map<String, Object> changes) {
+        if (changes.containsKey("title")) {
+            Object title = changes.get("title");
+            if (title == null || title.toString().isBlank() || title.toString().length() > 100) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title must be 1 to 100 characters");
+            }
+        }
+        if (changes.containsKey("status") && changes.get("status") == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status cannot be removed");
+        }
+        if (changes.containsKey("priority") && changes.get("priority") == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "priority cannot be removed");
+        }
+        if (changes.get("category") instanceof String category && category.length() > 50) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "category must be at most 50 characters");
+        }
+        if (changes.get("assignedToId") instanceof Long userId && !userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("Assigned user not found");
+        }
+        if (changes.get("teamId") instanceof Long teamId && !teamRepository.existsById(teamId)) {
+            throw new EntityNotFoundException("Team not found");
+        }
+    }
+
+    // Reads the counter columns, then updates only the version that was read; a writer
+    // that got in between makes the update match no row and the read is repeated
+    private TaskCounterState updateCounted(Long id, Long expectedVersion, ToIntFunction<Specification<Task>> update,
+                                           Function<TaskCounterState, TeamTaskCounterRepository.Key> after) {
+        for (int attempt = 1; ; attempt++) {
+            TaskCounterState current = taskRepository.findCounterStateById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+            checkVersion(id, expectedVersion, current.version());
+
+            if (update.applyAsInt(TaskSpecifications.withVersion(id, current.version())) == 1) {
+                countMove(current.key(), after.apply(current));
+                return current;
+            }
+            if (expectedVersion != null || attempt == MAX_VERSION_RETRIES) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, id);
+            }
+            logger.debug("Task ID {} changed during update, retrying", id);
+        }
+    }
+
+    private void updateUncounted(Long id, Long expectedVersion, ToIntFunction<Specification<Task>> update) {
+        Specification<Task> target = expectedVersion == null
+                ? TaskSpecifications.withIds(List.of(id))
+                : TaskSpecifications.withVersion(id, expectedVersion);
+        if (update.applyAsInt(target) == 0) {
+            if (expectedVersion != null && taskRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, id);
+            }
+            throw new EntityNotFoundException("Task not found");
+        }
+    }
+
+    private void checkVersion(Long id, Long expectedVersion, Long actualVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(actualVersion)) {
+            logger.warn("Task ID {} is at version {}, request expected {}", id, actualVersion, expectedVersion);
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+    }
+
+    private void countMove(TeamTaskCounterRepository.Key before, TeamTaskCounterRepository.Key after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Map<TeamTaskCounterRepository.Key, Long> deltas = new HashMap<>();
+        if (before != null) {
+            deltas.merge(before, -1L, Long::sum);
+        }
+        if (after != null) {
+            deltas.merge(after, 1L, Long::sum);
+        }
+        teamTaskCounterRepository.add(deltas);
+    }
+
+    // Read before the UPDATE runs, while the matching rows still carry their old values
+    private List<TeamStatusCount> readTargets(Specification<Task> spec, boolean byFilter, BulkTargets targets) {
+        List<TeamStatusCount> counts = taskRepository.countByTeam(spec);
+        targets.teamCounts().addAll(counts);
+        if (byFilter) {
+            targets.teamlessIds().addAll(taskRepository.findTeamlessIds(spec));
+        }
+        return counts;
+    }
+
+    private void moveCounts(List<TeamStatusCount> counts, TaskStatus status) {
+        Map<TeamTaskCounterRepository.Key, Long> deltas = new HashMap<>();
+        for (TeamStatusCount count : counts) {
+            deltas.merge(count.key(), -count.count(), Long::sum);
+            deltas.merge(new TeamTaskCounterRepository.Key(count.teamId(), status, count.priority()),
+                    count.count(), Long::sum);
+        }
+        teamTaskCounterRepository.add(deltas);
+    }
+
+    private void publish(TaskEventType type, TaskResponse task, Long previousTeamId, ActivityChanges changes) {
+        eventPublisher.publishEvent(TaskChangedEvent.of(type, task, previousTeamId));
+        eventPublisher.publishEvent(changes.toEvent(ActivitySubject.TASK, task.getId(), type.name()));
+    }
+
+    /**
+     * Records a set-based update as one entry per touched team, carrying the request's
+     * ids or filter, the new value and the row count of the whole UPDATE. Tasks also get
+     * an entry of their own with just the new value: every task the request named by id,
+     * and for a filter only the tasks without a team, which no team entry covers. Filter
+     * changes to tasks in a team are therefore in the team's history, not the task's.
+     * The same split decides the {@link TaskChangedEvent}s for webhooks and feeds.
+     */
+    private void recordBulk(BulkTargets targets, List<Long> ids, TaskFilter filter, long updated,
+                            String field, Object value) {
+        String action = TaskEventType.BULK_UPDATED.name();
+        ActivityChanges teamChanges = new ActivityChanges().set(field, value);
+        if (ids != null) {
+            teamChanges.set("ids", ids);
+        } else {
+            teamChanges.set("filter", filter);
+        }
+        teamChanges.set("updated", updated);
+        targets.teamIds().forEach(teamId -> eventPublisher.publishEvent(
+                teamChanges.toEvent(ActivitySubject.TEAM, teamId, action)));
+
+        ActivityChanges taskChanges = new ActivityChanges().set(field, value);
+        (ids != null ? ids : targets.teamlessIds()).forEach(taskId -> eventPublisher.publishEvent(
+                taskChanges.toEvent(ActivitySubject.TASK, taskId, action)));
+
+        // One event per team, and one without a team when rows outside any team changed
+        targets.teamIds().forEach(teamId -> eventPublisher.publishEvent(
+                TaskChangedEvent.bulkUpdated(teamId, ids, filter)));
+        if (updated > targets.teamRows()) {
+            eventPublisher.publishEvent(TaskChangedEvent.bulkUpdated(null, ids, filter));
+        }
+    }
+
+    // The in-memory search index is not transactional, so it only sees committed writes
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private TaskResponse toResponse(Task task) {
@@ -182,6 +715,7 @@ public class TaskService {
                 .deadline(task.getDeadline())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .build();
     }
 }
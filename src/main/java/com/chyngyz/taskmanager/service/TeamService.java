@@ -1,18 +1,35 @@
 package com.chyngyz.taskmanager.service;
 
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.TaskFilter;
 import com.chyngyz.taskmanager.dto.TeamRequest;
 import com.chyngyz.taskmanager.dto.TeamResponse;
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import com.chyngyz.taskmanager.dto.TeamStatsResponse;
+import com.chyngyz.taskmanager.entity.TaskStatus;
 import com.chyngyz.taskmanager.entity.Team;
 import com.chyngyz.taskmanager.entity.TeamMember;
 import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.TaskRepository;
+import com.chyngyz.taskmanager.repository.TaskSpecifications;
 import com.chyngyz.taskmanager.repository.TeamMemberRepository;
 import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.TeamStatusCount;
+import com.chyngyz.taskmanager.repository.TeamTaskCounterRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ETag;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -25,42 +42,61 @@ public class TeamService {
     private static final Logger logger = LoggerFactory.getLogger(TeamService.class);
 
     private final TeamMemberRepository teamMemberRepository;
+    private final TaskRepository taskRepository;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final TeamTaskCounterRepository teamTaskCounterRepository;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public TeamResponse createTeam(TeamRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        logger.info("Creating team by user: {}", username);
-
-        User creator = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.error("User '{}' not found", username);
-                    return new NoSuchElementException("User not found");
-                });
+        AuthenticatedUser principal = AuthenticatedUser.current();
+        logger.info("Creating team by user: {}", principal.username());
 
         Team team = Team.builder()
                 .name(request.getName())
                 .description(request.getDescription())
-                .createdBy(creator)
+                .createdBy(userRepository.getReferenceById(principal.id()))
                 .build();
 
+        Set<User> members = new HashSet<>();
         if (request.getMemberIds() != null && !request.getMemberIds().isEmpty()) {
-            Set<User> members = new HashSet<>(userRepository.findAllById(request.getMemberIds()));
+            members.addAll(userRepository.findAllById(request.getMemberIds()));
             team.setMembers(members);
             logger.info("Adding {} members to team '{}'", members.size(), request.getName());
         }
 
         team = teamRepository.save(team);
         logger.info("Team '{}' created successfully with ID {}", team.getName(), team.getId());
+        record(team.getId(), "CREATED", new ActivityChanges()
+                .diff("name", null, team.getName())
+                .diff("description", null, team.getDescription())
+                .diff("memberIds", null, memberIds(team)));
 
-        return toResponse(team);
+        // The creator reference is never loaded; its username is already on the principal
+        return toResponse(team, principal.username(),
+                members.stream().map(User::getUsername).collect(Collectors.toSet()));
     }
 
-    public List<TeamResponse> getAllTeams() {
-        logger.info("Fetching all teams");
-        return teamRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * One page of teams in three statements regardless of page size: the page with
+     * its creators fetch-joined, the count, and all member usernames for the page.
+     */
+    public Page<TeamResponse> getAllTeams(int page, int size) {
+        PageSizes.check(size);
+        logger.info("Fetching teams page {} (size {})", page, size);
+        Page<Team> teams = teamRepository.findAllBy(PageRequest.of(page, size, Sort.by("id")));
+
+        Map<Long, Set<String>> members = new HashMap<>();
+        if (teams.hasContent()) {
+            List<Long> teamIds = teams.map(Team::getId).getContent();
+            for (TeamRepository.MemberUsername member : teamRepository.findMemberUsernames(teamIds)) {
+                members.computeIfAbsent(member.getTeamId(), id -> new HashSet<>()).add(member.getUsername());
+            }
+        }
+
+        return teams.map(team -> toResponse(team, members.getOrDefault(team.getId(), Set.of())));
     }
 
     public TeamResponse getTeamById(Long id) {
@@ -73,34 +109,120 @@ public class TeamService {
         return toResponse(team);
     }
 
-    public TeamResponse updateTeam(Long id, TeamRequest request) {
+    /**
+     * ETag of a team response, derived from the update times of the team, its creator
+     * and its members without loading any of them.
+     */
+    public String getTeamETag(Long id) {
+        TeamRepository.TeamVersion version = teamRepository.findVersionById(id)
+                .orElseThrow(() -> {
+                    logger.error("Team with ID {} not found", id);
+                    return new NoSuchElementException("Team not found");
+                });
+        return ETags.of("team", id, version.getUpdatedAt(), version.getCreatorUpdatedAt(),
+                version.getMemberCount(), version.getMembersUpdatedAt());
+    }
+
+    /**
+     * Live feed of the team's task changes; see {@link TaskEventBroadcaster}.
+     */
+    public SseEmitter subscribeToTaskEvents(Long id, Long lastEventId) {
+        logger.info("Subscribing to task events of team ID {} after event {}", id, lastEventId);
+        if (!teamRepository.existsById(id)) {
+            logger.error("Team with ID {} not found", id);
+            throw new NoSuchElementException("Team not found");
+        }
+        return taskEventBroadcaster.subscribe(id, lastEventId);
+    }
+
+    /**
+     * Reads the maintained counters instead of the tasks table, so the cost does not
+     * depend on how many tasks the team has.
+     */
+    public TeamStatsResponse getTeamStats(Long id) {
+        logger.info("Fetching task stats for team ID {}", id);
+        if (!teamRepository.existsById(id)) {
+            logger.error("Team with ID {} not found", id);
+            throw new NoSuchElementException("Team not found");
+        }
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<Integer, Long> byPriority = new TreeMap<>();
+        long total = 0;
+        for (TeamStatusCount count : teamTaskCounterRepository.findByTeamId(id)) {
+            byStatus.merge(count.status(), count.count(), Long::sum);
+            byPriority.merge(count.priority(), count.count(), Long::sum);
+            total += count.count();
+        }
+        byPriority.values().removeIf(count -> count == 0);
+
+        return TeamStatsResponse.builder()
+                .teamId(id)
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .build();
+    }
+
+    /**
+     * With {@code ifMatch} the update only applies if the team still has that ETag.
+     * The team is read before the ETag is compared, so a write that lands in between
+     * is caught by the version check when the loaded team is merged.
+     */
+    @Transactional
+    public TeamResponse updateTeam(Long id, TeamRequest request, String ifMatch) {
         logger.info("Updating team with ID {}", id);
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.error("Team with ID {} not found", id);
                     return new NoSuchElementException("Team not found");
                 });
+        if (ifMatch != null && !matches(ifMatch, getTeamETag(id))) {
+            logger.warn("Team with ID {} no longer matches {}", id, ifMatch);
+            throw new ObjectOptimisticLockingFailureException(Team.class, id);
+        }
 
+        ActivityChanges changes = new ActivityChanges()
+                .diff("name", team.getName(), request.getName())
+                .diff("description", team.getDescription(), request.getDescription());
         team.setName(request.getName());
         team.setDescription(request.getDescription());
 
         if (request.getMemberIds() != null) {
+            List<Long> previousMembers = memberIds(team);
             Set<User> members = new HashSet<>(userRepository.findAllById(request.getMemberIds()));
             team.setMembers(members);
+            changes.diff("memberIds", previousMembers, memberIds(team));
             logger.info("Updated members of team ID {} with {} users", id, members.size());
         }
 
         team = teamRepository.save(team);
+        eventPublisher.publishEvent(TeamChangedEvent.updated(id));
         logger.info("Team with ID {} updated successfully", id);
+        record(id, "UPDATED", changes);
         return toResponse(team);
     }
 
+    @Transactional
     public void deleteTeam(Long id) {
         logger.info("Deleting team with ID {}", id);
+        if (!teamRepository.existsById(id)) {
+            logger.error("Team with ID {} not found", id);
+            throw new NoSuchElementException("Team not found");
+        }
+        // The delete nulls team_id on the team's tasks; their ETags must change with it
+        taskRepository.touch(TaskSpecifications.matching(TaskFilter.builder().teamId(id).build()));
         teamRepository.deleteById(id);
+        teamTaskCounterRepository.deleteByTeamId(id);
+        eventPublisher.publishEvent(TeamChangedEvent.deleted(id));
         logger.info("Team with ID {} deleted", id);
+        record(id, "DELETED", new ActivityChanges());
     }
 
+    @Transactional
     public void addMembers(Long teamId, Set<Long> userIds) {
         logger.info("Adding members {} to team ID {}", userIds, teamId);
         Team team = teamRepository.findById(teamId)
@@ -111,6 +233,7 @@ public class TeamService {
 
         List<User> users = userRepository.findAllById(userIds);
 
+        List<Long> addedIds = new ArrayList<>();
         for (User user : users) {
             boolean exists = teamMemberRepository.existsByTeamAndUser(team, user);
             if (!exists) {
@@ -120,13 +243,23 @@ public class TeamService {
                         .joinedAt(LocalDateTime.now())
                         .build();
                 teamMemberRepository.save(member);
+                addedIds.add(user.getId());
                 logger.info("User ID {} added to team ID {}", user.getId(), teamId);
             } else {
                 logger.warn("User ID {} already in team ID {}", user.getId(), teamId);
             }
         }
+        // Membership is not a column of teams, so bump updatedAt to move the team's ETag
+        if (!addedIds.isEmpty()) {
+            team.setUpdatedAt(LocalDateTime.now());
+            teamRepository.save(team);
+            record(teamId, "MEMBERS_ADDED", new ActivityChanges().set("memberIds", addedIds));
+        }
+        // Rows were written through TeamMember, which Team.members does not observe
+        eventPublisher.publishEvent(TeamChangedEvent.updated(teamId));
     }
 
+    @Transactional
     public void removeMember(Long id, Long userId) {
         logger.info("Removing user ID {} from team ID {}", userId, id);
         Team team = teamRepository.findById(id)
@@ -137,22 +270,51 @@ public class TeamService {
 
         boolean removed = team.getMembers().removeIf(user -> user.getId().equals(userId));
         if (removed) {
+            team.setUpdatedAt(LocalDateTime.now());
             teamRepository.save(team);
+            eventPublisher.publishEvent(TeamChangedEvent.updated(id));
             logger.info("User ID {} removed from team ID {}", userId, id);
+            record(id, "MEMBER_REMOVED", new ActivityChanges().diff("memberId", userId, null));
         } else {
             logger.warn("User ID {} was not a member of team ID {}", userId, id);
         }
     }
 
+    private void record(Long teamId, String action, ActivityChanges changes) {
+        eventPublisher.publishEvent(changes.toEvent(ActivitySubject.TEAM, teamId, action));
+    }
+
+    private static List<Long> memberIds(Team team) {
+        if (team.getMembers() == null) {
+            return List.of();
+        }
+        return team.getMembers().stream().map(User::getId).sorted().toList();
+    }
+
+    private static boolean matches(String ifMatch, String current) {
+        ETag currentTag = ETag.create(current);
+        return ETag.parse(ifMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(currentTag, true));
+    }
+
     private TeamResponse toResponse(Team team) {
+        return toResponse(team, team.getMembers().stream()
+                .map(User::getUsername)
+                .collect(Collectors.toSet()));
+    }
+
+    private TeamResponse toResponse(Team team, Set<String> memberUsernames) {
+        return toResponse(team, team.getCreatedBy() != null ? team.getCreatedBy().getUsername() : null,
+                memberUsernames);
+    }
+
+    private TeamResponse toResponse(Team team, String createdByUsername, Set<String> memberUsernames) {
         return TeamResponse.builder()
                 .id(team.getId())
                 .name(team.getName())
                 .description(team.getDescription())
-                .createdByUsername(team.getCreatedBy() != null ? team.getCreatedBy().getUsername() : null)
-                .memberUsernames(team.getMembers().stream()
-                        .map(User::getUsername)
-                        .collect(Collectors.toSet()))
+                .createdByUsername(createdByUsername)
+                .memberUsernames(memberUsernames)
                 .createdAt(team.getCreatedAt())
                 .updatedAt(team.getUpdatedAt())
                 .build();
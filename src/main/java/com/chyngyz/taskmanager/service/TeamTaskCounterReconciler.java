@@ -0,0 +1,40 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.repository.TeamTaskCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically recounts tasks per (team, status, priority) and repairs counters
+ * that drifted, e.g. after writes that bypassed {@link TaskService}. The recount is
+ * set-based and runs under the counter row locks, so it cannot overwrite a delta
+ * committed while it runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamTaskCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamTaskCounterReconciler.class);
+
+    private final TeamTaskCounterRepository teamTaskCounterRepository;
+
+    /**
+     * Returns the number of counters that were corrected.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.counters.reconcile-delay:PT1H}",
+            initialDelayString = "${taskmanager.counters.reconcile-delay:PT1H}")
+    @Transactional
+    public int reconcile() {
+        int repaired = teamTaskCounterRepository.reconcile();
+        if (repaired > 0) {
+            logger.warn("Reconciled {} team task counters", repaired);
+        } else {
+            logger.info("Team task counters are consistent");
+        }
+        return repaired;
+    }
+}
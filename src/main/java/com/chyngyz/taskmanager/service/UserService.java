@@ -1,5 +1,10 @@
 package com.chyngyz.taskmanager.service;
 
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import com.chyngyz.taskmanager.dto.UserChangedEvent;
 import com.chyngyz.taskmanager.dto.UserRequest;
 import com.chyngyz.taskmanager.dto.UserResponse;
 import com.chyngyz.taskmanager.entity.Task;
@@ -7,17 +12,25 @@ import com.chyngyz.taskmanager.entity.Team;
 import com.chyngyz.taskmanager.entity.User;
 import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
 import com.chyngyz.taskmanager.repository.TaskRepository;
+import com.chyngyz.taskmanager.repository.TaskSpecifications;
 import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.TeamTaskCounterRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,12 +42,36 @@ public class UserService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final TaskRepository taskRepository;
     private final TeamRepository teamRepository;
+    private final TeamTaskCounterRepository teamTaskCounterRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CursorPage<UserResponse> getUsers(Long after, String prefix, int size) {
+        PageSizes.check(size);
+        logger.info("Fetching users after ID {} with prefix '{}'", after, prefix);
+        long afterId = after != null ? after : 0L;
+        Pageable limit = PageRequest.ofSize(size + 1);
+
+        List<UserResponse> rows = prefix == null || prefix.isBlank()
+                ? userRepository.findDirectoryPage(afterId, limit)
+                : userRepository.findDirectoryPageByPrefix(afterId, likePrefix(prefix), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<UserResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? String.valueOf(content.get(content.size() - 1).getId()) : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
 
-    public List<UserResponse> getAllUsers() {
-        logger.info("Fetching all users");
-        return userRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Feeds every user to {@code sink} from a server-side cursor; rows are plain DTOs,
+     * so memory use does not grow with the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<UserResponse> sink) {
+        logger.info("Streaming user directory");
+        try (Stream<UserResponse> users = userRepository.streamDirectory()) {
+            users.forEach(sink);
+        }
     }
 
     public UserResponse getUserById(Long id) {
@@ -60,8 +97,10 @@ public class UserService {
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
 
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
         logger.info("User updated: {}", user.getUsername());
-        return toResponse(userRepository.save(user));
+        return toResponse(saved);
     }
 
     @Transactional
@@ -80,6 +119,8 @@ public class UserService {
         taskRepository.saveAll(tasks);
         logger.info("Cleared user assignments from tasks");
 
+        // The database cascades the user's delete to the teams they created
+        List<Long> createdTeamIds = teamRepository.findIdsByCreatedBy(user);
         List<Team> teams = teamRepository.findAllByMembersContains(user);
         for (Team team : teams) {
             team.getMembers().remove(user);
@@ -87,13 +128,40 @@ public class UserService {
         teamRepository.saveAll(teams);
         logger.info("Removed user from teams");
 
+        // The delete nulls created_by on the user's tasks and team_id on the tasks of the
+        // teams it cascades to; their ETags must change with it
+        taskRepository.touch(TaskSpecifications.matching(TaskFilter.builder().createdById(id).build()));
+        for (Long teamId : createdTeamIds) {
+            taskRepository.touch(TaskSpecifications.matching(TaskFilter.builder().teamId(teamId).build()));
+        }
+
         refreshTokenRepository.deleteAllByUser(user);
         logger.info("Deleted user refresh tokens");
+        tokenRevocationList.revokeUser(id);
 
         userRepository.delete(user);
+        for (Long teamId : createdTeamIds) {
+            teamTaskCounterRepository.deleteByTeamId(teamId);
+            eventPublisher.publishEvent(TeamChangedEvent.deleted(teamId));
+            eventPublisher.publishEvent(new ActivityChanges().toEvent(ActivitySubject.TEAM, teamId, "DELETED"));
+        }
+        teams.stream()
+                .map(Team::getId)
+                .filter(teamId -> !createdTeamIds.contains(teamId))
+                .forEach(teamId -> eventPublisher.publishEvent(TeamChangedEvent.updated(teamId)));
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        logger.info("Deleted {} teams created by the user", createdTeamIds.size());
         logger.info("User deleted: {}", user.getUsername());
     }
 
+    private static String likePrefix(String prefix) {
+        String escaped = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
     private UserResponse toResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
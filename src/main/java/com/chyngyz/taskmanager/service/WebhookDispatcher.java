@@ -0,0 +1,187 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.OutboxStatsResponse;
+import com.chyngyz.taskmanager.entity.OutboxMessage;
+import com.chyngyz.taskmanager.repository.OutboxBacklog;
+import com.chyngyz.taskmanager.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued outbox rows to their webhook endpoints.
+ * <p>
+ * Each run claims a batch of due rows with {@code FOR UPDATE SKIP LOCKED} and pushes
+ * their next attempt past a lease, so concurrent dispatchers on other instances skip
+ * them; the HTTP calls then happen outside any transaction. Rows are sent as one JSON
+ * array per endpoint, deleted when the endpoint answers 2xx and otherwise retried with
+ * exponential backoff. Delivery is at least once: a receiver should deduplicate by
+ * the {@code id} of each entry. The poll is only scheduled when
+ * {@code taskmanager.webhooks.endpoints} names at least one endpoint.
+ */
+@Component
+public class WebhookDispatcher implements SchedulingConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RestClient restClient;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration pollDelay;
+    private final boolean enabled;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private volatile Duration lastDeliveryLag = Duration.ZERO;
+
+    public WebhookDispatcher(
+            OutboxMessageRepository outboxMessageRepository,
+            TransactionTemplate transactionTemplate,
+            RestClient.Builder restClientBuilder,
+            @Value("${taskmanager.webhooks.batch-size:100}") int batchSize,
+            @Value("${taskmanager.webhooks.lease:PT1M}") Duration lease,
+            @Value("${taskmanager.webhooks.timeout:PT5S}") Duration timeout,
+            @Value("${taskmanager.webhooks.initial-backoff:PT1S}") Duration initialBackoff,
+            @Value("${taskmanager.webhooks.max-backoff:PT10M}") Duration maxBackoff,
+            @Value("${taskmanager.webhooks.poll-delay:PT1S}") Duration pollDelay,
+            @Value("${taskmanager.webhooks.endpoints:}") List<String> endpoints) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        JdkClientHttpRequestFactory requestFactory =
+                new JdkClientHttpRequestFactory(HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.pollDelay = pollDelay;
+        this.enabled = endpoints.stream().anyMatch(endpoint -> !endpoint.isBlank());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (!enabled) {
+            logger.info("No webhook endpoints configured, the outbox poll is not scheduled");
+            return;
+        }
+        registrar.addFixedDelayTask(this::dispatch, pollDelay);
+    }
+
+    /**
+     * Returns the number of rows delivered in this run.
+     */
+    public int dispatch() {
+        List<OutboxMessage> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxMessage>> byEndpoint = claimed.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::getEndpoint, LinkedHashMap::new, Collectors.toList()));
+        List<OutboxMessage> sent = new ArrayList<>();
+        Map<String, RestClientException> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, List<OutboxMessage>> batch : byEndpoint.entrySet()) {
+            try {
+                send(batch.getKey(), batch.getValue());
+                sent.addAll(batch.getValue());
+            } catch (RestClientException e) {
+                failures.put(batch.getKey(), e);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxMessageRepository.deleteAllByIdInBatch(sent.stream().map(OutboxMessage::getId).toList());
+            failures.forEach((endpoint, e) -> reschedule(byEndpoint.get(endpoint), e, now));
+        });
+
+        if (!sent.isEmpty()) {
+            delivered.addAndGet(sent.size());
+            sent.stream().map(OutboxMessage::getCreatedAt).min(LocalDateTime::compareTo)
+                    .ifPresent(oldest -> lastDeliveryLag = Duration.between(oldest, now));
+            logger.debug("Delivered {} outbox messages, lag {}", sent.size(), lastDeliveryLag);
+        }
+        return sent.size();
+    }
+
+    public OutboxStatsResponse getStats() {
+        OutboxBacklog backlog = outboxMessageRepository.backlog();
+        long oldestAge = backlog.oldestCreatedAt() == null
+                ? 0 : Duration.between(backlog.oldestCreatedAt(), LocalDateTime.now()).toMillis();
+        return OutboxStatsResponse.builder()
+                .pending(backlog.pending())
+                .oldestPendingAgeMillis(oldestAge)
+                .lastDeliveryLagMillis(lastDeliveryLag.toMillis())
+                .delivered(delivered.get())
+                .failedAttempts(failedAttempts.get())
+                .build();
+    }
+
+    private List<OutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> due = outboxMessageRepository
+                .findByNextAttemptAtLessThanEqualOrderByIdAsc(now, Limit.of(batchSize));
+        due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+        return due;
+    }
+
+    private void send(String endpoint, List<OutboxMessage> batch) {
+        List<Delivery> body = batch.stream().map(message -> new Delivery(message.getId(), message.getPayload())).toList();
+        restClient.post()
+                .uri(endpoint)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void reschedule(List<OutboxMessage> batch, RestClientException error, LocalDateTime now) {
+        failedAttempts.incrementAndGet();
+        String detail = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        String message = detail.length() > 500 ? detail.substring(0, 500) : detail;
+        for (OutboxMessage outboxMessage : batch) {
+            int attempts = outboxMessage.getAttempts() + 1;
+            LocalDateTime next = now.plus(backoff(attempts));
+            outboxMessageRepository.findById(outboxMessage.getId()).ifPresent(row -> {
+                row.setAttempts(attempts);
+                row.setNextAttemptAt(next);
+                row.setLastError(message);
+            });
+        }
+        logger.warn("Webhook delivery of {} messages to {} failed (attempt {}): {}", batch.size(),
+                batch.get(0).getEndpoint(), batch.get(0).getAttempts() + 1, message);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private record Delivery(Long id, @JsonRawValue String event) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskChangedEvent;
+import com.chyngyz.taskmanager.entity.OutboxMessage;
+import com.chyngyz.taskmanager.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queues task changes for the configured webhook endpoints. The rows are written
+ * before the task change commits, in the same transaction, so a change is delivered
+ * if and only if it was committed; {@link WebhookDispatcher} does the HTTP calls.
+ */
+@Component
+public class WebhookOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final List<String> endpoints;
+
+    public WebhookOutbox(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper,
+                         @Value("${taskmanager.webhooks.endpoints:}") List<String> endpoints) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.objectMapper = objectMapper;
+        this.endpoints = endpoints.stream().map(String::trim).filter(endpoint -> !endpoint.isEmpty()).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.saveAll(endpoints.stream()
+                .map(endpoint -> OutboxMessage.builder()
+                        .endpoint(endpoint)
+                        .eventType(event.type())
+                        .taskId(event.taskId())
+                        .teamId(event.teamId())
+                        .payload(payload)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.chyngyz.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionPermitDataSourceTest {
+
+    @Test
+    void getConnection_shouldWaitForAPermitAndReleaseItOnceOnClose() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(physical);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        assertEquals(0, dataSource.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.availablePermits());
+        verify(physical, times(2)).close();
+
+        try (Connection second = dataSource.getConnection()) {
+            assertNotNull(second);
+        }
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_shouldReturnThePermitWhenThePoolFails() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
@@ -2,6 +2,7 @@ package com.chyngyz.taskmanager.controller;
 
 import com.chyngyz.taskmanager.dto.*;
 import com.chyngyz.taskmanager.security.JwtUtil;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
 import com.chyngyz.taskmanager.service.AuthService;
 import com.chyngyz.taskmanager.service.CustomUserDetailsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,6 +39,9 @@ class AuthControllerTest {
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -2,9 +2,13 @@ package com.chyngyz.taskmanager.controller;
 
 import com.chyngyz.taskmanager.dto.TaskRequest;
 import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.Task;
 import com.chyngyz.taskmanager.entity.TaskStatus;
 import com.chyngyz.taskmanager.security.JwtUtil;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
+import com.chyngyz.taskmanager.service.ActivityLogService;
 import com.chyngyz.taskmanager.service.CustomUserDetailsService;
+import com.chyngyz.taskmanager.service.TaskImportService;
 import com.chyngyz.taskmanager.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -16,10 +20,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,12 +46,21 @@ public class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskImportService taskImportService;
+
+    @MockBean
+    private ActivityLogService activityLogService;
+
     @MockBean
     private JwtUtil jwtUtil;
 
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -113,6 +131,18 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void getTaskById_shouldReturnNotModifiedWithoutBuildingResponseWhenETagMatches() throws Exception {
+        Mockito.when(taskService.getTaskVersion(1L)).thenReturn(7L);
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(taskService, Mockito.never()).getTaskById(Mockito.anyLong());
+    }
+
     @Test
     void deleteTask_shouldReturnMessage() throws Exception {
         mockMvc.perform(delete("/api/tasks/1"))
@@ -128,11 +158,70 @@ public class TaskControllerTest {
                 .status(TaskStatus.IN_PROGRESS)
                 .build();
 
-        Mockito.when(taskService.updateTaskStatus(1L, TaskStatus.IN_PROGRESS)).thenReturn(task);
+        Mockito.when(taskService.updateTaskStatus(1L, TaskStatus.IN_PROGRESS, null)).thenReturn(task);
 
         mockMvc.perform(patch("/api/tasks/1/status")
                         .param("status", "IN_PROGRESS"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
     }
+
+    @Test
+    void updateTaskStatus_shouldPassIfMatchVersionAndAnswer412OnConflict() throws Exception {
+        Mockito.when(taskService.updateTaskStatus(1L, TaskStatus.REVIEW, 3L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(patch("/api/tasks/1/status")
+                        .param("status", "REVIEW")
+                        .header("If-Match", "\"3\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTask_shouldRejectWeakIfMatchWithoutCallingService() throws Exception {
+        mockMvc.perform(put("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"T\"}")
+                        .header("If-Match", "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        Mockito.verify(taskService, Mockito.never()).updateTask(Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void exportTasks_shouldStreamCsvWithQuotedFields() throws Exception {
+        TaskResponse task = TaskResponse.builder()
+                .id(7L)
+                .title("Fix \"login\", again")
+                .status(TaskStatus.NEW)
+                .priority(1)
+                .teamId(3L)
+                .build();
+        Mockito.doAnswer(invocation -> {
+            Consumer<TaskResponse> sink = invocation.getArgument(1);
+            sink.accept(task);
+            return null;
+        }).when(taskService).exportTasks(argThat(filter -> Long.valueOf(3L).equals(filter.getTeamId())), any());
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export")
+                        .param("format", "csv")
+                        .param("teamId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals("7,\"Fix \"\"login\"\", again\",,NEW,1,,,,3,,,", lines[1]);
+    }
+
+    @Test
+    void exportTasks_shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
 }
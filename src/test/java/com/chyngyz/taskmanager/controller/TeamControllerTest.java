@@ -3,6 +3,8 @@ package com.chyngyz.taskmanager.controller;
 import com.chyngyz.taskmanager.dto.TeamRequest;
 import com.chyngyz.taskmanager.dto.TeamResponse;
 import com.chyngyz.taskmanager.security.JwtUtil;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
+import com.chyngyz.taskmanager.service.ActivityLogService;
 import com.chyngyz.taskmanager.service.CustomUserDetailsService;
 import com.chyngyz.taskmanager.service.TeamService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -35,12 +39,18 @@ public class TeamControllerTest {
     @MockBean
     private TeamService teamService;
 
+    @MockBean
+    private ActivityLogService activityLogService;
+
     @MockBean
     private JwtUtil jwtUtil;
 
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -84,12 +94,12 @@ public class TeamControllerTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(teamService.getAllTeams()).thenReturn(List.of(team));
+        when(teamService.getAllTeams(0, 20)).thenReturn(new PageImpl<>(List.of(team), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/teams"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("DevOps"))
-                .andExpect(jsonPath("$[0].createdByUsername").value("manager"));
+                .andExpect(jsonPath("$.content[0].name").value("DevOps"))
+                .andExpect(jsonPath("$.content[0].createdByUsername").value("manager"));
     }
 
     @Test
@@ -1,9 +1,11 @@
 package com.chyngyz.taskmanager.controller;
 
+import com.chyngyz.taskmanager.dto.CursorPage;
 import com.chyngyz.taskmanager.dto.UserRequest;
 import com.chyngyz.taskmanager.dto.UserResponse;
 import com.chyngyz.taskmanager.entity.Role;
 import com.chyngyz.taskmanager.security.JwtUtil;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
 import com.chyngyz.taskmanager.service.CustomUserDetailsService;
 import com.chyngyz.taskmanager.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,9 +18,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -40,6 +45,9 @@ public class UserControllerTest {
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,11 +62,36 @@ public class UserControllerTest {
                 .role("ADMIN")
                 .build();
 
-        Mockito.when(userService.getAllUsers()).thenReturn(List.of(user));
+        Mockito.when(userService.getUsers(null, null, 50)).thenReturn(new CursorPage<>(List.of(user), null, false));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("chyngyz"));
+                .andExpect(jsonPath("$.content[0].username").value("chyngyz"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void streamUsers_shouldWriteOneJsonObjectPerLine() throws Exception {
+        UserResponse first = UserResponse.builder().id(1L).username("first").role("USER").build();
+        UserResponse second = UserResponse.builder().id(2L).username("second").role("USER").build();
+        Mockito.doAnswer(invocation -> {
+            Consumer<UserResponse> sink = invocation.getArgument(0);
+            sink.accept(first);
+            sink.accept(second);
+            return null;
+        }).when(userService).streamUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("second", objectMapper.readTree(lines[1]).get("username").asText());
     }
 
     @Test
@@ -0,0 +1,155 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.RegisterRequest;
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "taskmanager.activity.poll-interval=PT0.01S")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ActivityLogIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private String username;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Task ids restart whenever another test context recreates the schema
+        jdbcTemplate.update("DELETE FROM activity_log");
+        username = "activity_" + UUID.randomUUID().toString().substring(0, 8);
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername(username);
+        register.setEmail(username + "@example.com");
+        register.setPassword("password");
+        String response = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(response).get("token").asText();
+    }
+
+    private JsonNode history(long taskId, String query, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            String body = mockMvc.perform(get("/api/tasks/" + taskId + "/history" + query)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            if (page.get("content").size() >= expected || System.currentTimeMillis() > deadline) {
+                return page;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void history_shouldListFieldChangesNewestFirstWithKeysetPages() throws Exception {
+        TaskRequest task = new TaskRequest();
+        task.setTitle("Audited task");
+        task.setStatus(TaskStatus.NEW);
+        task.setPriority(1);
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long taskId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .header("Authorization", "Bearer " + token)
+                        .param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk());
+        task.setTitle("Renamed task");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk());
+
+        JsonNode all = history(taskId, "", 3);
+        assertEquals(3, all.get("content").size());
+        JsonNode updated = all.get("content").get(0);
+        assertEquals("UPDATED", updated.get("action").asText());
+        assertEquals(username, updated.get("actor").asText());
+        assertEquals("Audited task", updated.get("changes").get("title").get("from").asText());
+        assertEquals("Renamed task", updated.get("changes").get("title").get("to").asText());
+        assertFalse(updated.get("changes").has("status"));
+        JsonNode statusChange = all.get("content").get(1).get("changes").get("status");
+        assertEquals("NEW", statusChange.get("from").asText());
+        assertEquals("IN_PROGRESS", statusChange.get("to").asText());
+        assertEquals("CREATED", all.get("content").get(2).get("action").asText());
+
+        JsonNode first = history(taskId, "?size=2", 2);
+        assertTrue(first.get("hasNext").asBoolean());
+        JsonNode second = history(taskId, "?size=2&after=" + first.get("nextCursor").asText(), 1);
+        assertEquals(1, second.get("content").size());
+        assertFalse(second.get("hasNext").asBoolean());
+        assertEquals("CREATED", second.get("content").get(0).get("action").asText());
+    }
+
+    @Test
+    void history_shouldIncludeBulkUpdatesOfATaskWithoutATeam() throws Exception {
+        String category = "Bulk-" + UUID.randomUUID().toString().substring(0, 8);
+        TaskRequest task = new TaskRequest();
+        task.setTitle("Teamless task");
+        task.setStatus(TaskStatus.NEW);
+        task.setPriority(1);
+        task.setCategory(category);
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long taskId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(patch("/api/tasks/status")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"category\":\"" + category + "\"},\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/tasks/status")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + taskId + "],\"status\":\"CANCELED\"}"))
+                .andExpect(status().isOk());
+
+        JsonNode all = history(taskId, "", 3);
+        assertEquals(3, all.get("content").size());
+        JsonNode byIds = all.get("content").get(0);
+        assertEquals("BULK_UPDATED", byIds.get("action").asText());
+        assertEquals("CANCELED", byIds.get("changes").get("status").get("to").asText());
+        JsonNode byFilter = all.get("content").get(1);
+        assertEquals("BULK_UPDATED", byFilter.get("action").asText());
+        assertEquals("COMPLETED", byFilter.get("changes").get("status").get("to").asText());
+    }
+}
@@ -1,6 +1,7 @@
 package com.chyngyz.taskmanager.integration;
 
 import com.chyngyz.taskmanager.dto.RegisterRequest;
+import com.chyngyz.taskmanager.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Map;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +28,9 @@ public class AuthIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Test
     void registerUser_shouldReturnTokens() throws Exception {
         RegisterRequest request = new RegisterRequest();
@@ -124,4 +129,38 @@ public class AuthIntegrationTest {
                         .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void logout_shouldRevokeAccessToken() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("testuser5");
+        request.setEmail("test5@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+
+        String registerResponse = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String token = objectMapper.readTree(registerResponse).get("token").asText();
+        String refreshToken = objectMapper.readTree(registerResponse).get("refreshToken").asText();
+        Long userId = userRepository.findByUsername("testuser5").orElseThrow().getId();
+
+        mockMvc.perform(get("/api/users/" + userId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/" + userId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,184 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.TaskManagerApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the read endpoints with many concurrent clients, once with requests on
+ * Tomcat's platform thread pool and once on virtual threads, and prints throughput
+ * and latency for both. Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark}, optionally with {@code -Dbenchmark.clients=} and
+ * {@code -Dbenchmark.seconds=}.
+ */
+@Tag("benchmark")
+public class ExecutionModeBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 500);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 15);
+    private static final int TASKS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.printf("%n%d clients for %ds against /api/tasks, /api/tasks/{id}, /api/tasks/search%n",
+                CLIENTS, SECONDS);
+        System.out.printf("%-9s %10s %9s %9s %9s %7s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-9s %10.0f %9.1f %9.1f %9.1f %7d%n", result.mode(), result.throughput(),
+                    result.percentile(50), result.percentile(99), result.percentile(100), result.errors());
+        }
+
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            String token = register(client, base, mode);
+            List<Long> ids = seed(client, base, token);
+            List<String> paths = new ArrayList<>();
+            for (Long id : ids.subList(0, 50)) {
+                paths.add("/api/tasks/" + id);
+            }
+            paths.add("/api/tasks?size=20");
+            paths.add("/api/tasks?status=NEW&size=20");
+            paths.add("/api/tasks/search?q=benchmark");
+
+            // Warm up JIT, connection pool and caches before measuring
+            load(client, base, token, paths, Duration.ofSeconds(3));
+            return load(client, base, token, paths, Duration.ofSeconds(SECONDS)).withMode(mode);
+        }
+    }
+
+    private String register(HttpClient client, String base, String mode) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "username", "bench_" + mode, "email", "bench_" + mode + "@example.com",
+                "password", "password", "firstName", "Bench", "lastName", "User"));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private List<Long> seed(HttpClient client, String base, String token) throws Exception {
+        List<Map<String, Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Map.of("title", "Benchmark task " + i, "description", "Seeded benchmark row " + i,
+                    "status", i % 2 == 0 ? "NEW" : "IN_PROGRESS", "priority", i % 5 + 1, "category", "Benchmark"));
+        }
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/tasks/bulk"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(tasks)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode task : objectMapper.readTree(response.body()).get("created")) {
+            ids.add(task.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Result load(HttpClient client, String base, String token, List<String> paths, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c;
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + paths.get(i % paths.size())))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> future : clients) {
+            perClient.add(future.get());
+        }
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(null, all, errors.get(), duration);
+    }
+
+    private record Result(String mode, long[] sortedLatencies, long errors, Duration duration) {
+
+        Result withMode(String mode) {
+            return new Result(mode, sortedLatencies, errors, duration);
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentile(int p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
+import com.chyngyz.taskmanager.repository.TaskRepository;
+import com.chyngyz.taskmanager.repository.TaskSpecifications;
+import com.chyngyz.taskmanager.repository.TeamMemberRepository;
+import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls every repository finder against a seeded schema, captures the SQL Hibernate
+ * generates for it and fails when EXPLAIN shows a full table scan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.chyngyz.taskmanager.integration.QueryPlanIntegrationTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+@Transactional
+public class QueryPlanIntegrationTest {
+
+    private static final int SEEDED_TASKS = 500;
+
+    private static final List<String> captured = new CopyOnWriteArrayList<>();
+
+    /**
+     * Records each statement Hibernate prepares while a finder runs.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            captured.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    private User user;
+    private Team team;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role) VALUES ('plan_user', 'plan@example.com', 'x', 'USER')");
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'plan_user'", Long.class);
+        jdbcTemplate.update("INSERT INTO teams (name, created_by, version) VALUES ('plan_team', ?, 0)", userId);
+        long teamId = jdbcTemplate.queryForObject("SELECT id FROM teams WHERE name = 'plan_team'", Long.class);
+
+        String[] statuses = {"NEW", "IN_PROGRESS", "REVIEW", "COMPLETED", "CANCELED"};
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            rows.add(new Object[]{"Plan task " + i, statuses[i % statuses.length], i % 5 + 1, "Category" + i % 10, userId, userId, teamId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, status, priority, category, created_by, assigned_to, team_id, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR tasks_seq, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", rows);
+
+        user = userRepository.findById(userId).orElseThrow();
+        team = teamRepository.findById(teamId).orElseThrow();
+    }
+
+    private Map<String, Runnable> finders() {
+        PageRequest page = PageRequest.of(0, 10);
+        TaskFilter filter = new TaskFilter();
+        filter.setTeamId(team.getId());
+        filter.setStatus(TaskStatus.NEW);
+        filter.setPriority(2);
+
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("TaskRepository.findByCategory", () -> taskRepository.findByCategory("Category1", page));
+        finders.put("TaskRepository.findByStatus", () -> taskRepository.findByStatus(TaskStatus.NEW, page));
+        finders.put("TaskRepository.findByAssignedToId", () -> taskRepository.findByAssignedToId(user.getId(), page));
+        finders.put("TaskRepository.findByTeamId", () -> taskRepository.findByTeamId(team.getId(), page));
+        finders.put("TaskRepository.findByCreatedById", () -> taskRepository.findByCreatedById(user.getId(), page));
+        finders.put("TaskRepository.findByPriority", () -> taskRepository.findByPriority(1, page));
+        finders.put("TaskRepository.findByCategoryAndStatus",
+                () -> taskRepository.findByCategoryAndStatus("Category1", TaskStatus.NEW, page));
+        finders.put("TaskRepository.findAllByAssignedTo", () -> taskRepository.findAllByAssignedTo(user));
+        finders.put("TaskSpecifications.matching",
+                () -> taskRepository.findAll(TaskSpecifications.matching(filter), page));
+        finders.put("TaskCursor.seek(createdAt)", nextPage("createdAt", Sort.Direction.ASC));
+        finders.put("TaskCursor.seek(updatedAt)", nextPage("updatedAt", Sort.Direction.DESC));
+        finders.put("TaskCursor.seek(priority)", nextPage("priority", Sort.Direction.ASC));
+        finders.put("RefreshTokenRepository.findByTokenHash", () -> refreshTokenRepository.findByTokenHash("abc"));
+        finders.put("RefreshTokenRepository.deleteAllByUser", () -> refreshTokenRepository.deleteAllByUser(user));
+        finders.put("RefreshTokenRepository.findPurgeableIds",
+                () -> refreshTokenRepository.findPurgeableIds(LocalDateTime.now(), 0L, Limit.of(100)));
+        finders.put("UserRepository.findByUsername", () -> userRepository.findByUsername("plan_user"));
+        finders.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("plan@example.com"));
+        finders.put("TeamMemberRepository.existsByTeamAndUser", () -> teamMemberRepository.existsByTeamAndUser(team, user));
+        finders.put("TeamRepository.findAllByMembersContains", () -> teamRepository.findAllByMembersContains(user));
+        return finders;
+    }
+
+    // The first page is read outside the capture so only the seek query is explained
+    private Runnable nextPage(String sort, Sort.Direction direction) {
+        return () -> {
+            CursorPage<TaskResponse> first = taskService.getTasksAfter(null, null, 10, sort, direction);
+            captured.clear();
+            taskService.getTasksAfter(null, first.getNextCursor(), 10, sort, direction);
+        };
+    }
+
+    @Test
+    void repositoryFinders_shouldUseAnIndex() {
+        List<String> failures = new ArrayList<>();
+        finders().forEach((finder, call) -> {
+            entityManager.clear();
+            captured.clear();
+            call.run();
+            List<String> statements = List.copyOf(captured);
+            assertFalse(statements.isEmpty(), finder + " ran no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    failures.add(finder + " falls back to a table scan:\n" + plan);
+                }
+            }
+        });
+
+        assertTrue(failures.isEmpty(), () -> String.join("\n\n", failures));
+    }
+
+    /**
+     * EXPLAIN of a captured statement, with a placeholder value of the right type bound
+     * to each parameter. H2 chooses the plan from the shape of the query, not the values.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, placeholder(parameters.getParameterType(i)));
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Object placeholder(int sqlType) {
+        return switch (sqlType) {
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.CLOB -> "x";
+            case Types.BOOLEAN, Types.BIT -> false;
+            case Types.DATE, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> new Timestamp(0);
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.RefreshTokenStatsResponse;
+import com.chyngyz.taskmanager.entity.RefreshToken;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
+import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "taskmanager.auth.refresh-tokens-per-user=3",
+        "taskmanager.auth.refresh-token-purge-batch-size=2"
+})
+@ActiveProfiles("test")
+class RefreshTokenIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        user = userRepository.findByUsername("token_user").orElseGet(() -> userRepository.save(User.builder()
+                .username("token_user").email("token_user@example.com").password("x").role(Role.USER).build()));
+    }
+
+    @Test
+    void issue_shouldKeepOnlyTheNewestTokensPerUser() {
+        String first = refreshTokenService.issue(user);
+        for (int i = 0; i < 4; i++) {
+            refreshTokenService.issue(user);
+        }
+        String last = refreshTokenService.issue(user);
+
+        assertEquals(3, refreshTokenRepository.count());
+        assertTrue(refreshTokenService.findActive(first).isEmpty());
+        assertTrue(refreshTokenService.findActive(last).isPresent());
+    }
+
+    @Test
+    void purge_shouldDeleteExpiredAndRevokedRowsInBatches() {
+        for (int i = 0; i < 3; i++) {
+            refreshTokenRepository.save(RefreshToken.builder().tokenHash("expired-" + i).user(user)
+                    .expiryDate(LocalDateTime.now().minusMinutes(1)).revoked(false).build());
+        }
+        String revoked = refreshTokenService.issue(user);
+        refreshTokenService.revoke(revoked);
+        String kept = refreshTokenService.issue(user);
+
+        assertEquals(4, refreshTokenService.purge());
+
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenService.findActive(kept).isPresent());
+        RefreshTokenStatsResponse stats = refreshTokenService.getStats();
+        assertEquals(1, stats.getRows());
+        assertEquals(1, stats.getActive());
+        assertEquals(4, stats.getLastPurgeRows());
+        assertEquals(2, stats.getLastPurgeBatches());
+    }
+}
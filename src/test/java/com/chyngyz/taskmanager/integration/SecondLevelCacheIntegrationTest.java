@@ -0,0 +1,90 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.CacheStatsResponse;
+import com.chyngyz.taskmanager.dto.UserRequest;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.service.CacheService;
+import com.chyngyz.taskmanager.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().username("cached_user").email("cached@example.com")
+                .password("x").role(Role.USER).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void findById_shouldBeServedFromSecondLevelCacheAfterFirstLoad() {
+        cacheService.evictUser(user.getId());
+
+        userRepository.findById(user.getId());
+        long statements = statistics.getPrepareStatementCount();
+        userRepository.findById(user.getId());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+    }
+
+    @Test
+    void findByUsername_shouldHitQueryCacheOnRepeatedLookup() {
+        userRepository.findByUsername("cached_user");
+        userRepository.findByUsername("cached_user");
+
+        CacheStatsResponse stats = cacheService.getStats();
+        assertTrue(stats.getQueryCacheHits() >= 1);
+        assertTrue(stats.getRegions().stream()
+                .anyMatch(region -> region.getRegion().equals("users") && region.getPuts() + region.getHits() > 0));
+    }
+
+    @Test
+    void updateUser_shouldNotServeStaleData() {
+        userRepository.findById(user.getId());
+
+        UserRequest request = new UserRequest();
+        request.setUsername("cached_user");
+        request.setEmail("cached@example.com");
+        request.setFirstName("Renamed");
+        userService.updateUser(user.getId(), request);
+
+        assertEquals("Renamed", userRepository.findByUsername("cached_user").orElseThrow().getFirstName());
+        assertEquals("Renamed", userRepository.findById(user.getId()).orElseThrow().getFirstName());
+    }
+}
@@ -0,0 +1,149 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.RegisterRequest;
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskEventsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private String token;
+    private Long teamId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String username = "events_" + UUID.randomUUID().toString().substring(0, 8);
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername(username);
+        register.setEmail(username + "@example.com");
+        register.setPassword("password");
+        String response = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(response).get("token").asText();
+
+        Team team = Team.builder().name("Events team")
+                .createdBy(userRepository.findByUsername(username).orElseThrow())
+                .build();
+        teamId = teamRepository.save(team).getId();
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var request = get("/api/teams/" + teamId + "/events").header("Authorization", "Bearer " + token);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = stream.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getContentAsString();
+        }
+        assertTrue(content.contains(expected), "stream did not contain " + expected + ":\n" + content);
+        return content;
+    }
+
+    @Test
+    void events_shouldStreamCommittedChangesAndResumeAfterLastEventId() throws Exception {
+        MockHttpServletResponse live = subscribe(null);
+
+        TaskRequest task = new TaskRequest();
+        task.setTitle("Streamed task");
+        task.setStatus(TaskStatus.NEW);
+        task.setPriority(1);
+        task.setTeamId(teamId);
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long taskId = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .header("Authorization", "Bearer " + token)
+                        .param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk());
+
+        String content = awaitContent(live, "event:STATUS_CHANGED");
+        Matcher createdEvent = Pattern.compile("id:(\\d+)\\nevent:CREATED\\n").matcher(content);
+        assertTrue(createdEvent.find(), content);
+        assertTrue(content.contains("\"taskId\":" + taskId));
+
+        MockHttpServletResponse resumed = subscribe(createdEvent.group(1));
+        String replayed = awaitContent(resumed, "event:STATUS_CHANGED");
+        assertFalse(replayed.contains("event:CREATED"));
+
+        MockHttpServletResponse stale = subscribe("1");
+        awaitContent(stale, "event:RESET");
+    }
+
+    @Test
+    void bulkCreate_shouldStreamOneEventWithAllIds() throws Exception {
+        MockHttpServletResponse live = subscribe(null);
+
+        List<TaskRequest> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskRequest task = new TaskRequest();
+            task.setTitle("Bulk streamed " + i);
+            task.setStatus(TaskStatus.NEW);
+            task.setPriority(1);
+            task.setTeamId(teamId);
+            tasks.add(task);
+        }
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tasks)))
+                .andExpect(status().isOk());
+
+        // The event name and its data are separate writes, so wait for the data
+        String content = awaitContent(live, "\"taskIds\":[");
+        assertTrue(content.contains("event:BULK_CREATED"), content);
+        assertFalse(content.contains("event:CREATED"));
+        assertTrue(Pattern.compile("\"taskIds\":\\[\\d+,\\d+,\\d+]").matcher(content).find(), content);
+    }
+}
@@ -11,10 +11,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -145,4 +149,417 @@ public class TaskIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Task deleted"));
     }
+
+    @Test
+    void getTasks_shouldApplyAllFiltersTogether() throws Exception {
+        String token = getToken();
+        String category = "Combo_" + UUID.randomUUID().toString().substring(0, 8);
+
+        for (int priority = 1; priority <= 3; priority++) {
+            TaskRequest request = createTaskRequest();
+            request.setCategory(category);
+            request.setPriority(priority);
+            request.setStatus(priority == 3 ? TaskStatus.IN_PROGRESS : TaskStatus.NEW);
+
+            mockMvc.perform(post("/api/tasks")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category)
+                        .param("status", "NEW")
+                        .param("priority", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].priority").value(2))
+                .andExpect(jsonPath("$.content[0].status").value("NEW"));
+    }
+
+    @Test
+    void getTasksAfter_shouldWalkAllPagesWithoutDuplicates() throws Exception {
+        String token = getToken();
+        String category = "Cursor_" + UUID.randomUUID().toString().substring(0, 8);
+
+        for (int i = 0; i < 3; i++) {
+            TaskRequest request = createTaskRequest();
+            request.setCategory(category);
+            request.setPriority(1);
+            mockMvc.perform(post("/api/tasks")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+        }
+
+        String first = mockMvc.perform(get("/api/tasks/cursor")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category)
+                        .param("sort", "priority")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        var firstPage = objectMapper.readTree(first);
+        long lastId = firstPage.get("content").get(1).get("id").asLong();
+
+        mockMvc.perform(get("/api/tasks/cursor")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category)
+                        .param("sort", "priority")
+                        .param("size", "2")
+                        .param("after", firstPage.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(greaterThan((int) lastId)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void getTasksAfter_shouldRejectUnindexedSort() throws Exception {
+        String token = getToken();
+
+        mockMvc.perform(get("/api/tasks/cursor")
+                        .header("Authorization", "Bearer " + token)
+                        .param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchTasks_shouldFindCreatedTaskByTitleWord() throws Exception {
+        String token = getToken();
+        String word = "zq" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        TaskRequest request = createTaskRequest();
+        request.setTitle("Search " + word);
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .header("Authorization", "Bearer " + token)
+                        .param("q", word.toUpperCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Search " + word));
+    }
+
+    @Test
+    void createTasks_shouldInsertValidItemsAndReportInvalidOnes() throws Exception {
+        String token = getToken();
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            TaskRequest request = createTaskRequest();
+            request.setTitle("Bulk " + i);
+            requests.add(request);
+        }
+        requests.get(5).setTitle("");
+        requests.get(70).setAssignedToId(Long.MAX_VALUE);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", hasSize(118)))
+                .andExpect(jsonPath("$.created[0].id").isNumber())
+                .andExpect(jsonPath("$.created[5].title").value("Bulk 6"))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].index").value(5))
+                .andExpect(jsonPath("$.errors[0].message", containsString("title")))
+                .andExpect(jsonPath("$.errors[1].index").value(70))
+                .andExpect(jsonPath("$.errors[1].message", containsString("assignedToId")));
+    }
+
+    @Test
+    void bulkStatusAndAssign_shouldUpdateAllMatchingTasksInOneCall() throws Exception {
+        String token = getToken();
+        String category = "Sprint-" + UUID.randomUUID().toString().substring(0, 8);
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskRequest request = createTaskRequest();
+            request.setCategory(category);
+            requests.add(request);
+        }
+        String created = mockMvc.perform(post("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long firstId = objectMapper.readTree(created).at("/created/0/id").asLong();
+        long creatorId = objectMapper.readTree(created).at("/created/0/createdById").asLong();
+
+        mockMvc.perform(patch("/api/tasks/status")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"category\":\"" + category + "\"},\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+
+        mockMvc.perform(patch("/api/tasks/assign")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + firstId + "],\"userId\":" + creatorId + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+
+        mockMvc.perform(get("/api/tasks/" + firstId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.assignedToId").value(creatorId));
+
+        mockMvc.perform(patch("/api/tasks/status")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{},\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportTasks_shouldStreamOnlyMatchingTasksAsNdjson() throws Exception {
+        String token = getToken();
+        String category = "Export-" + UUID.randomUUID().toString().substring(0, 8);
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TaskRequest request = createTaskRequest();
+            request.setCategory(category);
+            request.setTitle("Export " + i);
+            requests.add(request);
+        }
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals("Export " + i, objectMapper.readTree(lines[i]).get("title").asText());
+        }
+    }
+
+    @Test
+    void importTasks_shouldCommitInBatchesAndReportRejectedRows() throws Exception {
+        String token = getToken();
+        String category = "Import-" + UUID.randomUUID().toString().substring(0, 8);
+        String csv = "title,status,priority,category,teamId\n"
+                + "First,NEW,1," + category + ",\n"
+                + "Second,NEW,2," + category + ",\n"
+                + ",NEW,2," + category + ",\n"
+                + "Fourth,NEW,3," + category + "," + Long.MAX_VALUE + "\n"
+                + "Fifth,LATER,3," + category + ",\n"
+                + "Sixth,REVIEW,4," + category + ",\n";
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("text/csv")
+                        .param("batchSize", "2")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(6))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.batches").value(3))
+                .andExpect(jsonPath("$.errors[*].index", containsInAnyOrder(2, 3, 4)));
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", containsInAnyOrder("First", "Second", "Sixth")));
+    }
+
+    @Test
+    void getTaskById_shouldRevalidateWithETagUntilTaskChanges() throws Exception {
+        String token = getToken();
+        String response = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTaskRequest())))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+
+        String eTag = mockMvc.perform(get("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .header("Authorization", "Bearer " + token)
+                        .param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void getTasks_shouldChangeETagWhenATaskMatchingTheFilterIsAdded() throws Exception {
+        String token = getToken();
+        String category = "ETag-" + UUID.randomUUID();
+        TaskRequest request = createTaskRequest();
+        request.setCategory(category);
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        String eTag = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category)
+                        .param("page", "1")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .param("category", category)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void updateTask_shouldApplyOnlyToTheVersionNamedByIfMatch() throws Exception {
+        String token = getToken();
+        String response = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTaskRequest())))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+        String original = mockMvc.perform(get("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String afterStatus = mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", original)
+                        .param("status", "REVIEW"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(original)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        TaskRequest edit = createTaskRequest();
+        edit.setTitle("Stale edit");
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", original)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(edit)))
+                .andExpect(status().isPreconditionFailed());
+
+        edit.setTitle("Fresh edit");
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", afterStatus)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(edit)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Fresh edit"))
+                .andExpect(header().string("ETag", not(afterStatus)));
+
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/assign")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", afterStatus)
+                        .param("userId", "1"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchTask_shouldChangeOnlyPresentMembers() throws Exception {
+        String token = getToken();
+        TaskRequest request = createTaskRequest();
+        request.setDescription("Keep me until cleared");
+        String response = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+        MediaType mergePatch = MediaType.parseMediaType("application/merge-patch+json");
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(mergePatch)
+                        .content("{\"priority\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priority").value(5))
+                .andExpect(jsonPath("$.title").value("Integration Task"))
+                .andExpect(jsonPath("$.description").value("Keep me until cleared"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-Match", "\"1\"")
+                        .contentType(mergePatch)
+                        .content("{\"description\":null,\"category\":\"Patched\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.category").value("Patched"))
+                .andExpect(jsonPath("$.priority").value(5));
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(mergePatch)
+                        .content("{\"status\":null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(mergePatch)
+                        .content("{\"createdById\":1}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,137 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.TaskManagerApplication;
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.repository.TaskRepository;
+import com.chyngyz.taskmanager.repository.TaskSpecifications;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the task listing read path: loading {@link Task} entities and
+ * mapping them to {@link TaskResponse} (the former path) against selecting the
+ * columns straight into {@link TaskResponse}. Both read page 3 of 100 rows with its
+ * count from 5,000 seeded tasks on in-process H2; the GC profiler reports the
+ * allocation per call. Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadPathBenchmarkTest {
+
+    private static final int TASKS = 5_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate transactionTemplate;
+    private Specification<Task> spec;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-read-path;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        spec = TaskSpecifications.matching(TaskFilter.builder().build());
+        pageable = PageRequest.of(3, 100, Sort.by("createdAt"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskResponse> entitiesMappedToResponses() {
+        return transactionTemplate.execute(status -> taskRepository.findAll(spec, pageable).map(this::toResponse));
+    }
+
+    @Benchmark
+    public Page<TaskResponse> constructorProjection() {
+        return transactionTemplate.execute(status -> taskRepository.findResponses(spec, pageable));
+    }
+
+    @Test
+    void compareReadPaths() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(getClass().getName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role) VALUES ('bench_reader', 'bench_reader@example.com', 'x', 'USER')");
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'bench_reader'", Long.class);
+
+        String description = "x".repeat(500);
+        String[] statuses = {"NEW", "IN_PROGRESS", "REVIEW", "COMPLETED", "CANCELED"};
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            rows.add(new Object[]{"Benchmark task " + i, description, statuses[i % statuses.length], i % 5 + 1,
+                    "Category" + i % 10, userId, userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, category, created_by, assigned_to, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR tasks_seq, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", rows);
+    }
+
+    private TaskResponse toResponse(Task task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .category(task.getCategory())
+                .createdById(task.getCreatedBy() != null ? task.getCreatedBy().getId() : null)
+                .assignedToId(task.getAssignedTo() != null ? task.getAssignedTo().getId() : null)
+                .teamId(task.getTeam() != null ? task.getTeam().getId() : null)
+                .deadline(task.getDeadline())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TaskResponse;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class TaskReadPathIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User creator;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        creator = User.builder().username("reader").email("reader@example.com").password("x").role(Role.USER).build();
+        entityManager.persist(creator);
+        task = Task.builder().title("Projected").description("Long text").status(TaskStatus.NEW)
+                .priority(1).category("ReadPath").createdBy(creator).assignedTo(creator).build();
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getTaskById_shouldNotLoadEntities() {
+        TaskResponse response = taskService.getTaskById(task.getId());
+
+        assertEquals("Projected", response.getTitle());
+        assertEquals(creator.getId(), response.getCreatedById());
+        assertEquals(creator.getId(), response.getAssignedToId());
+        assertNull(response.getTeamId());
+        assertEquals(0, managedEntityCount());
+    }
+
+    @Test
+    void listings_shouldNotLoadEntities() {
+        Page<TaskResponse> page = taskService.getTasks("ReadPath", null, null, null, null, null, 0, 10, "createdAt");
+        var cursorPage = taskService.getTasksAfter(TaskFilter.builder().category("ReadPath").build(),
+                null, 10, "createdAt", Sort.Direction.DESC);
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(1, cursorPage.getContent().size());
+        assertEquals(0, managedEntityCount());
+    }
+
+    private int managedEntityCount() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
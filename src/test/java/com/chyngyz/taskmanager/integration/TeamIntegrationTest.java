@@ -58,7 +58,7 @@ public class TeamIntegrationTest {
                 .andExpect(status().isOk())
                 .andReturn().getResponse().getContentAsString();
 
-        userId = objectMapper.readTree(usersResponse).get(0).get("id").asLong();
+        userId = objectMapper.readTree(usersResponse).get("content").get(0).get("id").asLong();
     }
 
 
@@ -97,8 +97,8 @@ public class TeamIntegrationTest {
         mockMvc.perform(get("/api/teams")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))))
-                .andExpect(jsonPath("$[0].name", not(emptyOrNullString())));
+                .andExpect(jsonPath("$.content", hasSize(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.content[0].name", not(emptyOrNullString())));
     }
 
     @Test
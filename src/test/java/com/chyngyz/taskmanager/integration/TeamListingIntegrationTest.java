@@ -0,0 +1,90 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.TeamResponse;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.service.TeamService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+public class TeamListingIntegrationTest {
+
+    private static final int TEAMS = 15;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TEAMS; i++) {
+            User creator = User.builder().username("lead" + i).email("lead" + i + "@example.com")
+                    .password("x").role(Role.MANAGER).build();
+            User member = User.builder().username("member" + i).email("member" + i + "@example.com")
+                    .password("x").role(Role.USER).build();
+            entityManager.persist(creator);
+            entityManager.persist(member);
+            entityManager.persist(Team.builder().name("Listing team " + i).createdBy(creator)
+                    .members(new HashSet<>(Set.of(creator, member))).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllTeams_shouldUseConstantNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<TeamResponse> page = teamService.getAllTeams(0, 100);
+
+        assertTrue(page.getNumberOfElements() >= TEAMS);
+        TeamResponse last = page.getContent().get(page.getNumberOfElements() - 1);
+        assertEquals("lead" + (TEAMS - 1), last.getCreatedByUsername());
+        assertEquals(Set.of("lead" + (TEAMS - 1), "member" + (TEAMS - 1)), last.getMemberUsernames());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "expected at most 3 statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getTeamETag_shouldChangeWhenAMemberIsRenamedOrRemoved() {
+        Team team = entityManager.createQuery("select t from Team t where t.name = 'Listing team 0'", Team.class)
+                .getSingleResult();
+        User member = entityManager.createQuery("select u from User u where u.username = 'member0'", User.class)
+                .getSingleResult();
+        String initial = teamService.getTeamETag(team.getId());
+        assertEquals(initial, teamService.getTeamETag(team.getId()));
+
+        member.setUsername("renamed0");
+        entityManager.flush();
+        String renamed = teamService.getTeamETag(team.getId());
+        assertNotEquals(initial, renamed);
+
+        teamService.removeMember(team.getId(), member.getId());
+        entityManager.flush();
+        assertNotEquals(renamed, teamService.getTeamETag(team.getId()));
+    }
+}
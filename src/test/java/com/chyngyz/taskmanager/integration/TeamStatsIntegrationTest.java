@@ -0,0 +1,149 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.BulkStatusRequest;
+import com.chyngyz.taskmanager.dto.TaskFilter;
+import com.chyngyz.taskmanager.dto.TaskPatchRequest;
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.dto.TeamStatsResponse;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.service.TaskService;
+import com.chyngyz.taskmanager.service.TeamService;
+import com.chyngyz.taskmanager.service.TeamTaskCounterReconciler;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class TeamStatsIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamTaskCounterReconciler reconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long teamId;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().username("stats_user").email("stats@example.com")
+                .password("x").role(Role.MANAGER).build();
+        entityManager.persist(user);
+        Team team = Team.builder().name("Stats team").createdBy(user).build();
+        entityManager.persist(team);
+        teamId = team.getId();
+        // Hibernate recreates the teams table in tests, so ids can collide with counters backfilled by Liquibase
+        jdbcTemplate.update("DELETE FROM team_task_counters WHERE team_id = ?", teamId);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(AuthenticatedUser.of(user), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Long createTask(TaskStatus status, int priority) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Stats task");
+        request.setStatus(status);
+        request.setPriority(priority);
+        request.setTeamId(teamId);
+        return taskService.createTask(request).getId();
+    }
+
+    @Test
+    void counters_shouldFollowEveryTaskWrite() {
+        Long first = createTask(TaskStatus.NEW, 1);
+        createTask(TaskStatus.NEW, 2);
+        Long third = createTask(TaskStatus.REVIEW, 2);
+        Long fourth = createTask(TaskStatus.REVIEW, 3);
+
+        taskService.updateTaskStatus(first, TaskStatus.COMPLETED, null);
+        BulkStatusRequest bulk = new BulkStatusRequest();
+        bulk.setFilter(TaskFilter.builder().teamId(teamId).status(TaskStatus.NEW).build());
+        bulk.setStatus(TaskStatus.IN_PROGRESS);
+        taskService.updateTaskStatuses(bulk);
+        taskService.deleteTask(third);
+        TaskRequest lowered = new TaskRequest();
+        lowered.setTitle("Stats task");
+        lowered.setStatus(TaskStatus.REVIEW);
+        lowered.setPriority(1);
+        taskService.updateTask(fourth, lowered, null);
+
+        TeamStatsResponse stats = teamService.getTeamStats(teamId);
+
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getByStatus().get(TaskStatus.COMPLETED));
+        assertEquals(1, stats.getByStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1, stats.getByStatus().get(TaskStatus.REVIEW));
+        assertEquals(0, stats.getByStatus().get(TaskStatus.NEW));
+        assertEquals(Map.of(1, 2L, 2, 1L), stats.getByPriority());
+    }
+
+    @Test
+    void reconcile_shouldRepairDriftedCounters() {
+        createTask(TaskStatus.NEW, 1);
+        createTask(TaskStatus.NEW, 1);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE team_task_counters SET task_count = 99 WHERE team_id = ?", teamId);
+        jdbcTemplate.update("INSERT INTO team_task_counters (team_id, status, priority, task_count) VALUES (?, 'REVIEW', 5, 4)",
+                teamId);
+
+        assertTrue(reconciler.reconcile() >= 2);
+
+        TeamStatsResponse stats = teamService.getTeamStats(teamId);
+        assertEquals(2, stats.getTotal());
+        assertEquals(2, stats.getByStatus().get(TaskStatus.NEW));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void patchTask_shouldMoveCountersOnlyForCountedFields() {
+        Long taskId = createTask(TaskStatus.NEW, 1);
+
+        TaskPatchRequest retitle = new TaskPatchRequest();
+        retitle.setTitle("Renamed");
+        taskService.patchTask(taskId, retitle, null);
+        TaskPatchRequest move = new TaskPatchRequest();
+        move.setStatus(TaskStatus.REVIEW);
+        move.setPriority(3);
+        taskService.patchTask(taskId, move, null);
+
+        TeamStatsResponse stats = teamService.getTeamStats(teamId);
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.getByStatus().get(TaskStatus.REVIEW));
+        assertEquals(Map.of(3, 1L), stats.getByPriority());
+
+        TaskPatchRequest detach = new TaskPatchRequest();
+        detach.setTeamId(null);
+        assertNull(taskService.patchTask(taskId, detach, null).getTeamId());
+        assertEquals(0, teamService.getTeamStats(teamId).getTotal());
+    }
+}
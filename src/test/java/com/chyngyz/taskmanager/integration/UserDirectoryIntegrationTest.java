@@ -0,0 +1,66 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.dto.UserResponse;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class UserDirectoryIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("dir_alpha", "dir_alpine", "dir_beta", "dir%odd")) {
+            userRepository.save(User.builder().username(name).email(name.replace("%", "") + "@directory.test")
+                    .password("x").role(Role.USER).build());
+        }
+    }
+
+    @Test
+    void getUsers_shouldMatchPrefixCaseInsensitivelyAcrossPages() {
+        CursorPage<UserResponse> first = userService.getUsers(null, "DIR_ALP", 1);
+        CursorPage<UserResponse> second = userService.getUsers(Long.valueOf(first.getNextCursor()), "DIR_ALP", 1);
+
+        assertEquals("dir_alpha", first.getContent().get(0).getUsername());
+        assertEquals("USER", first.getContent().get(0).getRole());
+        assertTrue(first.isHasNext());
+        assertEquals("dir_alpine", second.getContent().get(0).getUsername());
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void getUsers_shouldTreatWildcardsLiterally() {
+        CursorPage<UserResponse> result = userService.getUsers(null, "dir%", 10);
+
+        assertEquals(List.of("dir%odd"), result.getContent().stream().map(UserResponse::getUsername).toList());
+    }
+
+    @Test
+    void streamUsers_shouldVisitEveryUser() {
+        List<UserResponse> streamed = new ArrayList<>();
+        userService.streamUsers(streamed::add);
+
+        assertEquals(userRepository.count(), streamed.size());
+    }
+}
@@ -4,6 +4,7 @@ import com.chyngyz.taskmanager.dto.RegisterRequest;
 import com.chyngyz.taskmanager.dto.UserRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,9 @@ public class UserIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserRepository userRepository;
+
     private RegisterRequest getRegisterRequest() {
         RegisterRequest request = new RegisterRequest();
         request.setUsername("testuser");
@@ -53,8 +57,8 @@ public class UserIntegrationTest {
         mockMvc.perform(get("/api/users")
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))))
-                .andExpect(jsonPath("$[0].username", not(emptyOrNullString())));
+                .andExpect(jsonPath("$.content", hasSize(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.content[0].username", not(emptyOrNullString())));
     }
 
 
@@ -125,6 +129,36 @@ public class UserIntegrationTest {
                 .andExpect(jsonPath("$.email").value("updated@example.com"));
     }
 
+    @Test
+    void updateUser_shouldAllowUserToUpdateOnlyThemselves() throws Exception {
+        String registerResponse = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(getRegisterRequest())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String token = objectMapper.readTree(registerResponse).get("token").asText();
+        Long userId = userRepository.findByUsername("testuser").orElseThrow().getId();
+
+        UserRequest updateRequest = new UserRequest();
+        updateRequest.setUsername("testuser");
+        updateRequest.setEmail("renamed@example.com");
+        updateRequest.setFirstName("Renamed");
+        updateRequest.setLastName("User");
+
+        mockMvc.perform(put("/api/users/" + userId)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Renamed"));
+
+        mockMvc.perform(put("/api/users/" + (userId + 1))
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isForbidden());
+    }
 
     @Test
     void deleteUser_shouldReturnConfirmation() throws Exception {
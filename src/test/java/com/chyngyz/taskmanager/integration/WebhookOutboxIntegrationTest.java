@@ -0,0 +1,184 @@
+package com.chyngyz.taskmanager.integration;
+
+import com.chyngyz.taskmanager.dto.RegisterRequest;
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.entity.OutboxMessage;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.chyngyz.taskmanager.repository.OutboxMessageRepository;
+import com.chyngyz.taskmanager.service.WebhookDispatcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Endpoints are configured, which schedules the poll; a long delay keeps it out of the
+// way so the test drives dispatch() itself
+@SpringBootTest(properties = {"taskmanager.webhooks.initial-backoff=PT0S", "taskmanager.webhooks.poll-delay=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class WebhookOutboxIntegrationTest {
+
+    private static final HttpServer stub = startStub();
+    private static final Queue<String> received = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private WebhookDispatcher webhookDispatcher;
+
+    private String token;
+
+    @DynamicPropertySource
+    static void webhookEndpoint(DynamicPropertyRegistry registry) {
+        registry.add("taskmanager.webhooks.endpoints",
+                () -> "http://localhost:" + stub.getAddress().getPort() + "/hooks");
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/hooks", exchange -> {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                int status = failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0 ? 503 : 204;
+                if (status == 204) {
+                    received.add(body);
+                }
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outboxMessageRepository.deleteAll();
+        received.clear();
+        failuresLeft.set(0);
+
+        String username = "hooks_" + UUID.randomUUID().toString().substring(0, 8);
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername(username);
+        register.setEmail(username + "@example.com");
+        register.setPassword("password");
+        String response = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(response).get("token").asText();
+    }
+
+    private long createTask(String title) throws Exception {
+        TaskRequest task = new TaskRequest();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.NEW);
+        task.setPriority(1);
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    @Test
+    void taskChanges_shouldBeQueuedWithTheWriteAndDeliveredInOneBatch() throws Exception {
+        long taskId = createTask("Hooked task");
+        mockMvc.perform(patch("/api/tasks/" + taskId + "/status")
+                        .header("Authorization", "Bearer " + token)
+                        .param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk());
+
+        List<OutboxMessage> queued = outboxMessageRepository.findAll();
+        assertEquals(2, queued.size());
+
+        assertEquals(2, webhookDispatcher.dispatch());
+        assertEquals(1, received.size());
+        JsonNode batch = objectMapper.readTree(received.peek());
+        assertEquals(2, batch.size());
+        assertEquals(queued.get(0).getId(), batch.get(0).get("id").asLong());
+        assertEquals("CREATED", batch.get(0).get("event").get("type").asText());
+        assertEquals("STATUS_CHANGED", batch.get(1).get("event").get("type").asText());
+        assertEquals(taskId, batch.get(1).get("event").get("task").get("id").asLong());
+        assertEquals(0, outboxMessageRepository.count());
+    }
+
+    @Test
+    void bulkUpdateOfTasksWithoutATeam_shouldBeQueuedWithTheRequestedIds() throws Exception {
+        long first = createTask("Teamless one");
+        long second = createTask("Teamless two");
+        outboxMessageRepository.deleteAll();
+
+        mockMvc.perform(patch("/api/tasks/status")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + first + "," + second + "],\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+
+        List<OutboxMessage> queued = outboxMessageRepository.findAll();
+        assertEquals(1, queued.size());
+        JsonNode event = objectMapper.readTree(queued.get(0).getPayload());
+        assertEquals("BULK_UPDATED", event.get("type").asText());
+        assertTrue(event.get("teamId").isNull());
+        assertEquals(first, event.get("taskIds").get(0).asLong());
+        assertEquals(second, event.get("taskIds").get(1).asLong());
+    }
+
+    @Test
+    void failedDelivery_shouldBeRetriedWithBackoff() throws Exception {
+        createTask("Retried task");
+        failuresLeft.set(1);
+
+        assertEquals(0, webhookDispatcher.dispatch());
+        OutboxMessage pending = outboxMessageRepository.findAll().get(0);
+        assertEquals(1, pending.getAttempts());
+        assertTrue(pending.getLastError().contains("503"));
+        assertTrue(received.isEmpty());
+
+        assertEquals(1, webhookDispatcher.dispatch());
+        assertEquals(1, received.size());
+        assertEquals(0, outboxMessageRepository.count());
+        assertTrue(webhookDispatcher.getStats().getFailedAttempts() >= 1);
+    }
+
+}
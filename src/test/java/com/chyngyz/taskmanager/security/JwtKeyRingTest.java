@@ -0,0 +1,98 @@
+package com.chyngyz.taskmanager.security;
+
+import com.chyngyz.taskmanager.entity.Role;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    @TempDir
+    Path keysDir;
+
+    static JwtKeyRing ephemeralRing() {
+        return new JwtKeyRing("", "", SignatureAlgorithm.HS256, Duration.ofMinutes(20),
+                false, Duration.ofDays(30), Duration.ofHours(1));
+    }
+
+    private JwtKeyRing ring(boolean rotation, SignatureAlgorithm algorithm, Duration overlap) {
+        return new JwtKeyRing(keysDir.toString(), "", algorithm, overlap,
+                rotation, Duration.ofDays(30), Duration.ofHours(1));
+    }
+
+    private static String kid(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+        return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+
+    @Test
+    void rotatedKey_shouldBeVerifiedByAnotherNodeSharingTheDirectory() {
+        JwtKeyRing issuerRing = ring(true, SignatureAlgorithm.RS256, Duration.ofMinutes(20));
+        JwtUtil issuer = new JwtUtil(issuerRing, 100);
+        JwtUtil replica = new JwtUtil(ring(false, SignatureAlgorithm.HS256, Duration.ofMinutes(20)), 100);
+
+        String token = issuer.generateToken(new AuthenticatedUser(1L, "alice", Role.USER));
+
+        assertEquals(issuerRing.signingKey().kid(), kid(token));
+        assertEquals("alice", replica.verify(token).username());
+        List<?> jwks = (List<?>) issuerRing.jwks().get("keys");
+        assertEquals(1, jwks.size());
+        Map<?, ?> jwk = (Map<?, ?>) jwks.get(0);
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals(kid(token), jwk.get("kid"));
+    }
+
+    @Test
+    void oldKey_shouldVerifyDuringOverlapAndRetireAfterIt() throws Exception {
+        Instant now = Instant.now();
+        SigningKey old = SigningKey.generate("old", SignatureAlgorithm.HS256, now.minus(Duration.ofHours(2)));
+        SigningKey current = SigningKey.generate("current", SignatureAlgorithm.HS256, now.minus(Duration.ofMinutes(30)));
+        KeyFiles.write(keysDir, old);
+        KeyFiles.write(keysDir, current);
+
+        JwtKeyRing withinOverlap = ring(false, SignatureAlgorithm.HS256, Duration.ofHours(1));
+        assertEquals("current", withinOverlap.signingKey().kid());
+        assertNotNull(withinOverlap.verificationKey("old"));
+
+        JwtKeyRing pastOverlap = ring(false, SignatureAlgorithm.HS256, Duration.ofMinutes(20));
+        assertEquals("current", pastOverlap.signingKey().kid());
+        assertNull(pastOverlap.verificationKey("old"));
+        assertTrue(((List<?>) pastOverlap.jwks().get("keys")).isEmpty());
+    }
+
+    @Test
+    void futureKey_shouldBePublishedBeforeItSigns() throws Exception {
+        Instant now = Instant.now();
+        KeyFiles.write(keysDir, SigningKey.generate("current", SignatureAlgorithm.ES256, now.minus(Duration.ofDays(1))));
+        KeyFiles.write(keysDir, SigningKey.generate("next", SignatureAlgorithm.ES256, now.plus(Duration.ofHours(1))));
+
+        JwtKeyRing ring = ring(false, SignatureAlgorithm.HS256, Duration.ofMinutes(20));
+
+        assertEquals("current", ring.signingKey().kid());
+        assertNotNull(ring.verificationKey("next"));
+        List<?> jwks = (List<?>) ring.jwks().get("keys");
+        assertEquals(2, jwks.size());
+        assertEquals("P-256", ((Map<?, ?>) jwks.get(0)).get("crv"));
+    }
+
+    @Test
+    void tokenFromUnknownKey_shouldBeRejected() {
+        JwtUtil other = new JwtUtil(ring(true, SignatureAlgorithm.HS256, Duration.ofMinutes(20)), 100);
+        JwtUtil node = new JwtUtil(ephemeralRing(), 100);
+
+        String token = other.generateToken(new AuthenticatedUser(1L, "alice", Role.USER));
+
+        assertThrows(JwtException.class, () -> node.verify(token));
+    }
+}
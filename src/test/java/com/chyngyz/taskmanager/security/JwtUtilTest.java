@@ -0,0 +1,43 @@
+package com.chyngyz.taskmanager.security;
+
+import com.chyngyz.taskmanager.entity.Role;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(JwtKeyRingTest.ephemeralRing(), 100);
+
+    @Test
+    void verify_shouldReturnClaimsFromOneParse() {
+        String token = jwtUtil.generateToken(new AuthenticatedUser(7L, "alice", Role.MANAGER));
+
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        assertEquals(new AuthenticatedUser(7L, "alice", Role.MANAGER), verified.principal());
+        assertTrue(verified.expiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(14))));
+        assertSame(verified, jwtUtil.verify(token));
+    }
+
+    @Test
+    void verify_shouldRejectTamperedTokenEvenAfterOriginalWasCached() {
+        String token = jwtUtil.generateToken(new AuthenticatedUser(7L, "alice", Role.USER));
+        jwtUtil.verify(token);
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    void verify_shouldRejectTokenSignedWithAnotherKey() {
+        String foreign = new JwtUtil(JwtKeyRingTest.ephemeralRing(), 100).generateToken(new AuthenticatedUser(8L, "mallory", Role.ADMIN));
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+    }
+}
@@ -0,0 +1,87 @@
+package com.chyngyz.taskmanager.security;
+
+import com.chyngyz.taskmanager.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the per-request cost of authenticating a bearer token:
+ * the former filter path (two parses, each with a freshly built parser), one parse
+ * with the shared parser (a cache miss), and a verified-claims cache hit. Excluded
+ * from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmarkTest {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private Key legacyKey;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(JwtKeyRingTest.ephemeralRing(), 10_000);
+        token = jwtUtil.generateToken(new AuthenticatedUser(1L, "benchmark", Role.USER));
+        legacyKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        legacyToken = Jwts.builder()
+                .setSubject("benchmark")
+                .claim("role", Role.USER.name())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 15 * 60 * 1000))
+                .signWith(legacyKey)
+                .compact();
+    }
+
+    @Benchmark
+    public Object twoParsesWithNewParsers() {
+        String username = Jwts.parserBuilder().setSigningKey(legacyKey).build()
+                .parseClaimsJws(legacyToken).getBody().getSubject();
+        String role = Jwts.parserBuilder().setSigningKey(legacyKey).build()
+                .parseClaimsJws(legacyToken).getBody().get("role", String.class);
+        return username + role;
+    }
+
+    @Benchmark
+    public Claims oneParseWithSharedParser() {
+        return jwtUtil.extractClaim(token, claims -> claims);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerification() {
+        return jwtUtil.verify(token);
+    }
+
+    @Test
+    void compareVerificationPaths() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(getClass().getName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.chyngyz.taskmanager.security;
+
+import com.chyngyz.taskmanager.entity.RevokedToken;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenRevocationList revocationList = new TokenRevocationList(repository, 100);
+
+    private static VerifiedToken token(long userId, Instant issuedAt) {
+        return new VerifiedToken(new AuthenticatedUser(userId, "user" + userId, Role.USER),
+                UUID.randomUUID().toString(), issuedAt, issuedAt.plus(JwtUtil.ACCESS_TOKEN_TTL));
+    }
+
+    @Test
+    void revoke_shouldRejectOnlyThatTokenAndPersistIt() {
+        VerifiedToken revoked = token(1L, Instant.now());
+        VerifiedToken other = token(1L, Instant.now());
+
+        revocationList.revoke(revoked);
+
+        assertTrue(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(other));
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revokeUser_shouldRejectTokensIssuedBeforeButNotAfter() {
+        VerifiedToken before = token(2L, Instant.now().minusSeconds(5));
+
+        revocationList.revokeUser(2L);
+
+        assertTrue(revocationList.isRevoked(before));
+        assertFalse(revocationList.isRevoked(token(2L, Instant.now().plusSeconds(1))));
+        assertFalse(revocationList.isRevoked(token(3L, Instant.now().minusSeconds(5))));
+    }
+
+    @Test
+    void revokeUser_shouldOnlyApplyOnceTheTransactionCommits() {
+        VerifiedToken before = token(6L, Instant.now().minusSeconds(5));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationList.revokeUser(6L);
+            assertFalse(revocationList.isRevoked(before));
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(revocationList.isRevoked(before));
+    }
+
+    @Test
+    void sync_shouldLoadUnexpiredRevocationsAtStartup() {
+        VerifiedToken revoked = token(4L, Instant.now());
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                RevokedToken.builder().jti(revoked.jti()).revokedAt(LocalDateTime.now())
+                        .expiresAt(LocalDateTime.now().plusMinutes(15)).build(),
+                RevokedToken.builder().userId(5L).revokedAt(LocalDateTime.now())
+                        .expiresAt(LocalDateTime.now().plusMinutes(15)).build()));
+
+        revocationList.sync();
+
+        assertTrue(revocationList.isRevoked(revoked));
+        assertTrue(revocationList.isRevoked(token(5L, Instant.now().minusSeconds(5))));
+        assertFalse(revocationList.isRevoked(token(4L, Instant.now())));
+    }
+
+    @Test
+    void prune_shouldForgetRevocationsOnceTheirTokensExpired() {
+        VerifiedToken revoked = token(6L, Instant.now());
+        revocationList.revoke(revoked);
+        revocationList.revokeUser(7L);
+
+        revocationList.prune(Instant.now().plus(JwtUtil.ACCESS_TOKEN_TTL).plus(Duration.ofMinutes(2)));
+
+        assertFalse(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(token(7L, Instant.now().minusSeconds(5))));
+    }
+
+    @Test
+    void bloomFilter_shouldHaveNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("added-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("added-" + (i % 1000)));
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
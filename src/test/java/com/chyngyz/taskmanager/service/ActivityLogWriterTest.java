@@ -0,0 +1,62 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.ActivityEvent;
+import com.chyngyz.taskmanager.dto.ActivityLogStatsResponse;
+import com.chyngyz.taskmanager.dto.ActivitySubject;
+import com.chyngyz.taskmanager.repository.ActivityLogRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActivityLogWriterTest {
+
+    private final ActivityLogRepository activityLogRepository = mock(ActivityLogRepository.class);
+
+    private static ActivityEvent event(long taskId) {
+        return new ActivityEvent(ActivitySubject.TASK, taskId, "UPDATED", "alice", Map.of(), LocalDateTime.now());
+    }
+
+    @Test
+    void onActivity_shouldDropAfterWaitingWhenQueueIsFull() {
+        ActivityLogWriter writer = new ActivityLogWriter(activityLogRepository, 2, 10,
+                Duration.ofMillis(10), Duration.ofMillis(50));
+
+        writer.onActivity(event(1));
+        writer.onActivity(event(2));
+        writer.onActivity(event(3));
+
+        ActivityLogStatsResponse stats = writer.getStats();
+        assertEquals(2, stats.getEnqueued());
+        assertEquals(1, stats.getProducerWaits());
+        assertEquals(1, stats.getDropped());
+        assertEquals(2, stats.getQueueDepth());
+        verifyNoInteractions(activityLogRepository);
+    }
+
+    @Test
+    void stop_shouldFlushQueuedEventsInBatches() {
+        ActivityLogWriter writer = new ActivityLogWriter(activityLogRepository, 100, 2,
+                Duration.ofMillis(10), Duration.ofMillis(50));
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> batchSizes.add(invocation.<List<ActivityEvent>>getArgument(0).size()))
+                .when(activityLogRepository).insertAll(anyList());
+        for (long id = 1; id <= 5; id++) {
+            writer.onActivity(event(id));
+        }
+
+        writer.start();
+        writer.stop();
+
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        ActivityLogStatsResponse stats = writer.getStats();
+        assertEquals(5, stats.getWritten());
+        assertEquals(0, stats.getQueueDepth());
+    }
+}
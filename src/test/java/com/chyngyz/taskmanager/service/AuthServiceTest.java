@@ -3,15 +3,16 @@ package com.chyngyz.taskmanager.service;
 import com.chyngyz.taskmanager.dto.AuthResponse;
 import com.chyngyz.taskmanager.dto.RegisterRequest;
 import com.chyngyz.taskmanager.entity.*;
-import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
+import com.chyngyz.taskmanager.security.AuthenticatedUserDetails;
 import com.chyngyz.taskmanager.security.JwtUtil;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -35,7 +36,10 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
 
     @InjectMocks
     private AuthService authService;
@@ -56,7 +60,8 @@ class AuthServiceTest {
 
         when(userRepository.existsByUsername("testuser")).thenReturn(false);
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
-        when(jwtUtil.generateToken(eq("testuser"), eq(Role.ADMIN))).thenReturn("access-token");
+        when(jwtUtil.generateToken(any(AuthenticatedUser.class))).thenReturn("access-token");
+        when(refreshTokenService.issue(any(User.class))).thenReturn("refresh-token");
 
         AuthResponse response = authService.register(request);
 
@@ -64,7 +69,7 @@ class AuthServiceTest {
         assertNotNull(response.getRefreshToken());
 
         verify(userRepository).save(any(User.class));
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenService).issue(any(User.class));
     }
 
     @Test
@@ -73,6 +78,7 @@ class AuthServiceTest {
         String password = "password";
 
         User user = User.builder()
+                .id(5L)
                 .username(username)
                 .password("encoded")
                 .role(Role.USER)
@@ -80,23 +86,27 @@ class AuthServiceTest {
 
         // корректный способ мока метода authenticate
         Authentication mockAuth = mock(Authentication.class);
+        when(mockAuth.getPrincipal()).thenReturn(new AuthenticatedUserDetails(user));
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(mockAuth);
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(jwtUtil.generateToken(username, Role.USER)).thenReturn("access-token");
+        when(jwtUtil.generateToken(new AuthenticatedUser(5L, username, Role.USER))).thenReturn("access-token");
+        when(userRepository.getReferenceById(5L)).thenReturn(user);
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
 
         AuthResponse response = authService.login(username, password);
 
         assertEquals("access-token", response.getToken());
         assertNotNull(response.getRefreshToken());
 
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenService).issue(user);
+        verify(userRepository, never()).findByUsername(any());
     }
 
     @Test
     void login_shouldThrowExceptionIfUserNotFound() {
-        when(userRepository.findByUsername("nouser")).thenReturn(Optional.empty());
+        when(authenticationManager.authenticate(any(Authentication.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
 
-        assertThrows(UsernameNotFoundException.class, () ->
+        assertThrows(BadCredentialsException.class, () ->
                 authService.login("nouser", "pass"));
     }
 
@@ -104,19 +114,20 @@ class AuthServiceTest {
     void refreshToken_shouldReturnAccessTokenIfValid() {
         String token = "refresh-token";
         User user = User.builder()
+                .id(5L)
                 .username("testuser")
                 .role(Role.USER)
                 .build();
 
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(token)
+                .tokenHash("hash")
                 .user(user)
                 .expiryDate(LocalDateTime.now().plusDays(1))
                 .revoked(false)
                 .build();
 
-        when(refreshTokenRepository.findByToken(token)).thenReturn(Optional.of(refreshToken));
-        when(jwtUtil.generateToken("testuser", Role.USER)).thenReturn("new-access-token");
+        when(refreshTokenService.findActive(token)).thenReturn(Optional.of(refreshToken));
+        when(jwtUtil.generateToken(new AuthenticatedUser(5L, "testuser", Role.USER))).thenReturn("new-access-token");
 
         Optional<String> result = authService.refreshToken(token);
         assertTrue(result.isPresent());
@@ -128,17 +139,16 @@ class AuthServiceTest {
         String token = "refresh-token";
 
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(token)
-                .revoked(false)
+                .tokenHash("hash")
+                .revoked(true)
                 .user(User.builder().username("u").build())
                 .expiryDate(LocalDateTime.now().plusDays(1))
                 .build();
 
-        when(refreshTokenRepository.findByToken(token)).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenService.revoke(token)).thenReturn(Optional.of(refreshToken));
 
         authService.logout(token);
 
-        assertTrue(refreshToken.isRevoked());
-        verify(refreshTokenRepository).save(refreshToken);
+        verify(refreshTokenService).revoke(token);
     }
 }
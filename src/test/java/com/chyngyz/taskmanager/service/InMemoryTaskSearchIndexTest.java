@@ -0,0 +1,60 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import com.chyngyz.taskmanager.entity.Task;
+import com.chyngyz.taskmanager.entity.Team;
+import com.chyngyz.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class InMemoryTaskSearchIndexTest {
+
+    private InMemoryTaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTaskSearchIndex(mock(TaskRepository.class));
+        Team backend = Team.builder().id(1L).build();
+        Team frontend = Team.builder().id(2L).build();
+        index.index(Task.builder().id(1L).title("Fix login bug").description("Token refresh fails").team(backend).build());
+        index.index(Task.builder().id(2L).title("Login page layout").description("Align the form").team(frontend).build());
+        index.index(Task.builder().id(3L).title("Write docs").description("Describe the login flow").team(backend).build());
+    }
+
+    @Test
+    void search_shouldRankTitleMatchesFirst() {
+        Page<Long> result = index.search("login", null, PageRequest.of(0, 10));
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(3L, result.getContent().get(2));
+    }
+
+    @Test
+    void search_shouldRequireAllTermsAndFilterByTeam() {
+        assertEquals(List.of(1L), index.search("login token", null, PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(2L), index.search("login", 2L, PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void removeAndReindex_shouldReplacePostings() {
+        index.remove(1L);
+        index.index(Task.builder().id(3L).title("Write docs").description("Nothing here").build());
+
+        assertEquals(List.of(2L), index.search("login", null, PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void onTeamChanged_shouldDropDeletedTeamFromDocuments() {
+        index.onTeamChanged(TeamChangedEvent.deleted(1L));
+
+        assertEquals(List.of(), index.search("login", 1L, PageRequest.of(0, 10)).getContent());
+        assertEquals(3, index.search("login", null, PageRequest.of(0, 10)).getTotalElements());
+    }
+}
@@ -0,0 +1,68 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.entity.RefreshToken;
+import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenService refreshTokenService = new RefreshTokenService(refreshTokenRepository, 2, 3);
+
+    @Test
+    void issue_shouldStoreOnlyTheDigestAndDeleteTokensOverTheLimit() {
+        User user = User.builder().id(1L).username("alice").build();
+        when(refreshTokenRepository.findActiveIdsByUserId(eq(1L), any())).thenReturn(List.of(9L, 7L, 4L, 2L));
+
+        String token = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(43, saved.getValue().getTokenHash().length());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals(RefreshTokenService.hash(token), saved.getValue().getTokenHash());
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(4L, 2L));
+    }
+
+    @Test
+    void findActive_shouldLookUpByDigestAndSkipRevokedTokens() {
+        RefreshToken revoked = RefreshToken.builder().revoked(true).expiryDate(LocalDateTime.now().plusDays(1)).build();
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(revoked));
+
+        assertTrue(refreshTokenService.findActive("raw").isEmpty());
+    }
+
+    @Test
+    void purge_shouldDeleteInBatchesUntilAShortOne() {
+        when(refreshTokenRepository.findPurgeableIds(any(), anyLong(), any()))
+                .thenReturn(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L), List.of(7L));
+        when(refreshTokenRepository.deletePurgeable(any(), any())).thenReturn(3, 3, 1);
+
+        assertEquals(7, refreshTokenService.purge());
+
+        verify(refreshTokenRepository, times(3)).deletePurgeable(any(), any());
+        verify(refreshTokenRepository).findPurgeableIds(any(), eq(0L), any());
+        verify(refreshTokenRepository).findPurgeableIds(any(), eq(3L), any());
+        verify(refreshTokenRepository).findPurgeableIds(any(), eq(6L), any());
+    }
+
+    @Test
+    void purge_shouldCountRowsActuallyDeleted() {
+        when(refreshTokenRepository.findPurgeableIds(any(), anyLong(), any())).thenReturn(List.of(1L, 2L));
+        when(refreshTokenRepository.deletePurgeable(any(), any())).thenReturn(1);
+
+        assertEquals(1, refreshTokenService.purge());
+    }
+}
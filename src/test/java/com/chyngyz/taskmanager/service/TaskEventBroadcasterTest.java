@@ -0,0 +1,46 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskChangedEvent;
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBroadcasterTest {
+
+    private TaskEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TaskEventBroadcaster(16, 16, Duration.ofSeconds(15), Duration.ofMinutes(30), Duration.ZERO);
+    }
+
+    @Test
+    void onTeamChanged_shouldDropFeedOfDeletedTeam() {
+        broadcaster.subscribe(1L, null);
+        assertEquals(1, broadcaster.subscriberCount(1L));
+
+        broadcaster.onTeamChanged(TeamChangedEvent.updated(1L));
+        assertEquals(1, broadcaster.feedCount());
+
+        broadcaster.onTeamChanged(TeamChangedEvent.deleted(1L));
+        assertEquals(0, broadcaster.feedCount());
+        assertEquals(0, broadcaster.subscriberCount(1L));
+    }
+
+    @Test
+    void removeIdleFeeds_shouldKeepFeedsWithSubscribers() {
+        broadcaster.subscribe(1L, null);
+        broadcaster.onTaskChanged(TaskChangedEvent.bulkUpdated(2L, List.of(5L), null));
+        assertEquals(2, broadcaster.feedCount());
+
+        broadcaster.removeIdleFeeds();
+
+        assertEquals(1, broadcaster.feedCount());
+        assertEquals(1, broadcaster.subscriberCount(1L));
+    }
+}
@@ -0,0 +1,80 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.dto.TaskRequest;
+import com.chyngyz.taskmanager.entity.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRowReaderTest {
+
+    private final ObjectReader json = new ObjectMapper().registerModule(new JavaTimeModule()).readerFor(TaskRequest.class);
+
+    private List<TaskRowReader.Row> readAll(TaskImportFormat format, String content) throws IOException {
+        List<TaskRowReader.Row> rows = new ArrayList<>();
+        try (TaskRowReader reader = TaskRowReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), json)) {
+            TaskRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void csv_shouldParseQuotedFieldsAndIgnoreExportOnlyColumns() throws IOException {
+        String csv = "\uFEFFid,title,description,status,priority,teamId,createdAt\r\n"
+                + "1,\"Fix \"\"login\"\", again\",\"line one\nline two\",new,2,5,2025-01-01T00:00\r\n"
+                + "\r\n"
+                + "2,Plain,,DONE,1,,\r\n";
+
+        List<TaskRowReader.Row> rows = readAll(TaskImportFormat.CSV, csv);
+
+        assertEquals(2, rows.size());
+        TaskRequest first = rows.get(0).request();
+        assertEquals("Fix \"login\", again", first.getTitle());
+        assertEquals("line one\nline two", first.getDescription());
+        assertEquals(TaskStatus.NEW, first.getStatus());
+        assertEquals(5L, first.getTeamId());
+        assertNull(rows.get(1).request());
+        assertEquals(1, rows.get(1).index());
+        assertTrue(rows.get(1).error().startsWith("status"));
+    }
+
+    @Test
+    void csv_shouldRejectUnknownColumns() {
+        assertThrows(ResponseStatusException.class, () -> readAll(TaskImportFormat.CSV, "title,owner\nA,b\n"));
+    }
+
+    @Test
+    void csv_shouldReportRowsWithWrongFieldCount() throws IOException {
+        List<TaskRowReader.Row> rows = readAll(TaskImportFormat.CSV, "title,priority\nA\nB,1\n");
+
+        assertEquals("Expected 2 fields but found 1", rows.get(0).error());
+        assertEquals("B", rows.get(1).request().getTitle());
+    }
+
+    @Test
+    void ndjson_shouldSkipBlankLinesAndReportMalformedOnes() throws IOException {
+        String ndjson = "{\"title\":\"A\",\"status\":\"NEW\",\"priority\":1}\n\n{not json}\n{\"title\":\"C\"}\n";
+
+        List<TaskRowReader.Row> rows = readAll(TaskImportFormat.NDJSON, ndjson);
+
+        assertEquals(3, rows.size());
+        assertEquals("A", rows.get(0).request().getTitle());
+        assertEquals(1, rows.get(1).index());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON"));
+        assertEquals("C", rows.get(2).request().getTitle());
+    }
+}
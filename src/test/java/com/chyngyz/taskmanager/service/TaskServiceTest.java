@@ -1,15 +1,26 @@
 package com.chyngyz.taskmanager.service;
 
+import com.chyngyz.taskmanager.dto.TaskPatchRequest;
 import com.chyngyz.taskmanager.dto.TaskRequest;
 import com.chyngyz.taskmanager.dto.TaskResponse;
 import com.chyngyz.taskmanager.entity.*;
+import com.chyngyz.taskmanager.repository.TaskCounterState;
 import com.chyngyz.taskmanager.repository.TaskRepository;
 import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.TeamTaskCounterRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 
@@ -27,6 +38,21 @@ class TaskServiceTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TeamTaskCounterRepository teamTaskCounterRepository;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -43,8 +69,8 @@ class TaskServiceTest {
         request.setTitle("Test");
         request.setStatus(TaskStatus.NEW);
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(creator));
-        mockSecurityContext(username);
+        mockSecurityContext(new AuthenticatedUser(1L, username, Role.USER));
+        when(entityManager.getReference(User.class, 1L)).thenReturn(creator);
 
         Task savedTask = Task.builder().id(1L).title("Test").createdBy(creator).status(TaskStatus.NEW).build();
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
@@ -63,24 +89,51 @@ class TaskServiceTest {
         request.setStatus(TaskStatus.IN_PROGRESS);
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any())).thenReturn(existingTask);
+        when(taskRepository.saveAndFlush(any())).thenReturn(existingTask);
 
-        var response = taskService.updateTask(1L, request);
+        var response = taskService.updateTask(1L, request, null);
 
         assertEquals("Updated", response.getTitle());
         assertEquals(TaskStatus.IN_PROGRESS, response.getStatus());
     }
 
+    @Test
+    void updateTask_shouldRejectStaleExpectedVersion() {
+        Task existingTask = Task.builder().id(1L).title("Old").status(TaskStatus.NEW).version(4L).build();
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Updated");
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.updateTask(1L, request, 3L));
+        assertEquals("Old", existingTask.getTitle());
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void deleteTask_shouldCallRepository() {
         taskService.deleteTask(1L);
         verify(taskRepository).deleteById(1L);
+        verify(taskSearchIndex).remove(1L);
+    }
+
+    @Test
+    void searchTasks_shouldKeepRankOrder() {
+        TaskResponse first = TaskResponse.builder().id(7L).title("Deploy api").build();
+        TaskResponse second = TaskResponse.builder().id(3L).title("Api docs").build();
+        when(taskSearchIndex.search(eq("api"), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(7L, 3L), PageRequest.of(0, 10), 2));
+        when(taskRepository.findResponses(any(Specification.class), any(Sort.class), eq(2))).thenReturn(List.of(second, first));
+
+        Page<TaskResponse> result = taskService.searchTasks("api", null, 0, 10);
+
+        assertEquals(List.of(7L, 3L), result.getContent().stream().map(TaskResponse::getId).toList());
     }
 
     @Test
     void getTaskById_shouldReturnTaskResponse() {
-        Task task = Task.builder().id(1L).title("Task").build();
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        TaskResponse task = TaskResponse.builder().id(1L).title("Task").build();
+        when(taskRepository.findResponseById(1L)).thenReturn(Optional.of(task));
 
         var response = taskService.getTaskById(1L);
         assertEquals("Task", response.getTitle());
@@ -88,31 +141,76 @@ class TaskServiceTest {
 
     @Test
     void updateTaskStatus_shouldUpdateAndReturn() {
-        Task task = Task.builder().id(1L).status(TaskStatus.NEW).build();
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.findCounterStateById(1L))
+                .thenReturn(Optional.of(new TaskCounterState(5L, TaskStatus.NEW, 2, 3L)));
+        when(taskRepository.updateStatus(any(Specification.class), eq(TaskStatus.COMPLETED))).thenReturn(1);
+        when(taskRepository.findResponseById(1L)).thenReturn(Optional.of(
+                TaskResponse.builder().id(1L).status(TaskStatus.COMPLETED).version(4L).build()));
+
+        var response = taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, null);
 
-        var response = taskService.updateTaskStatus(1L, TaskStatus.COMPLETED);
         assertEquals(TaskStatus.COMPLETED, response.getStatus());
+        verify(teamTaskCounterRepository).add(Map.of(
+                new TeamTaskCounterRepository.Key(5L, TaskStatus.NEW, 2), -1L,
+                new TeamTaskCounterRepository.Key(5L, TaskStatus.COMPLETED, 2), 1L));
+    }
+
+    @Test
+    void updateTaskStatus_shouldRetryWhenVersionMovesAndFailWhenVersionWasExpected() {
+        when(taskRepository.findCounterStateById(1L))
+                .thenReturn(Optional.of(new TaskCounterState(null, TaskStatus.NEW, 2, 3L)))
+                .thenReturn(Optional.of(new TaskCounterState(null, TaskStatus.REVIEW, 2, 4L)));
+        when(taskRepository.updateStatus(any(Specification.class), eq(TaskStatus.COMPLETED))).thenReturn(0, 1);
+        when(taskRepository.findResponseById(1L)).thenReturn(Optional.of(
+                TaskResponse.builder().id(1L).status(TaskStatus.COMPLETED).build()));
+
+        taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, null);
+        verify(taskRepository, times(2)).updateStatus(any(Specification.class), eq(TaskStatus.COMPLETED));
+
+        when(taskRepository.findCounterStateById(1L))
+                .thenReturn(Optional.of(new TaskCounterState(null, TaskStatus.NEW, 2, 3L)));
+        when(taskRepository.updateStatus(any(Specification.class), eq(TaskStatus.COMPLETED))).thenReturn(0);
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskService.updateTaskStatus(1L, TaskStatus.COMPLETED, 3L));
     }
 
     @Test
     void assignTask_shouldAssignUser() {
-        Task task = Task.builder().id(1L).build();
-        User user = User.builder().id(2L).build();
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
-        when(taskRepository.save(task)).thenReturn(task);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(taskRepository.updateAssignee(any(Specification.class), eq(2L))).thenReturn(1);
+        when(taskRepository.findResponseById(1L)).thenReturn(Optional.of(
+                TaskResponse.builder().id(1L).assignedToId(2L).build()));
 
-        var response = taskService.assignTask(1L, 2L);
+        var response = taskService.assignTask(1L, 2L, null);
         assertEquals(2L, response.getAssignedToId());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void patchTask_shouldUpdateUncountedFieldsWithoutReadingTheTask() {
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setCategory("Ops");
+        patch.setDeadline(null);
+        when(taskRepository.updateFields(any(Specification.class), anyMap())).thenReturn(1);
+        when(taskRepository.findResponseById(1L)).thenReturn(Optional.of(
+                TaskResponse.builder().id(1L).category("Ops").build()));
+
+        taskService.patchTask(1L, patch, null);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("category", "Ops");
+        expected.put("deadline", null);
+        verify(taskRepository).updateFields(any(Specification.class), eq(expected));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).findCounterStateById(any());
+        verifyNoInteractions(teamTaskCounterRepository);
     }
 
     @Test
     void getTasks_shouldReturnFilteredPage() {
-        Task task = Task.builder().id(1L).title("Task").status(TaskStatus.NEW).build();
-        Page<Task> taskPage = new PageImpl<>(List.of(task));
-        when(taskRepository.findByStatus(eq(TaskStatus.NEW), any(Pageable.class))).thenReturn(taskPage);
+        TaskResponse task = TaskResponse.builder().id(1L).title("Task").status(TaskStatus.NEW).build();
+        Page<TaskResponse> taskPage = new PageImpl<>(List.of(task));
+        when(taskRepository.findResponses(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
 
         Page<TaskResponse> result = taskService.getTasks(null, TaskStatus.NEW, null, null, null, null, 0, 10, "createdAt");
 
@@ -120,9 +218,19 @@ class TaskServiceTest {
         assertEquals("Task", result.getContent().get(0).getTitle());
     }
 
-    private void mockSecurityContext(String username) {
+    @Test
+    void getTasksAfter_shouldRejectPagesAboveTheCap() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> taskService.getTasksAfter(null, null, PageSizes.MAX + 1, "createdAt", Sort.Direction.ASC));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    private void mockSecurityContext(AuthenticatedUser principal) {
         var auth = mock(org.springframework.security.core.Authentication.class);
-        when(auth.getName()).thenReturn(username);
+        when(auth.getName()).thenReturn(principal.username());
+        when(auth.getPrincipal()).thenReturn(principal);
         var ctx = mock(org.springframework.security.core.context.SecurityContext.class);
         when(ctx.getAuthentication()).thenReturn(auth);
         org.springframework.security.core.context.SecurityContextHolder.setContext(ctx);
@@ -1,15 +1,25 @@
 package com.chyngyz.taskmanager.service;
 
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
 import com.chyngyz.taskmanager.dto.TeamRequest;
 import com.chyngyz.taskmanager.dto.TeamResponse;
+import com.chyngyz.taskmanager.entity.Role;
+import com.chyngyz.taskmanager.entity.TaskStatus;
 import com.chyngyz.taskmanager.entity.Team;
 import com.chyngyz.taskmanager.entity.User;
+import com.chyngyz.taskmanager.repository.TaskRepository;
 import com.chyngyz.taskmanager.repository.TeamMemberRepository;
 import com.chyngyz.taskmanager.repository.TeamRepository;
+import com.chyngyz.taskmanager.repository.TeamStatusCount;
+import com.chyngyz.taskmanager.repository.TeamTaskCounterRepository;
 import com.chyngyz.taskmanager.repository.UserRepository;
+import com.chyngyz.taskmanager.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -29,6 +39,18 @@ class TeamServiceTest {
     @Mock
     private TeamMemberRepository teamMemberRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TeamTaskCounterRepository teamTaskCounterRepository;
+
+    @Mock
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -39,6 +61,7 @@ class TeamServiceTest {
         // Подмена SecurityContext
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser", Role.USER));
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
@@ -53,7 +76,7 @@ class TeamServiceTest {
         User user2 = User.builder().id(2L).username("member1").build();
         User user3 = User.builder().id(3L).username("member2").build();
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(creator));
+        when(userRepository.getReferenceById(1L)).thenReturn(creator);
         when(userRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(user2, user3));
         when(teamRepository.save(any(Team.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -107,14 +130,20 @@ class TeamServiceTest {
     void getAllTeams_shouldReturnTeamResponses() {
         Team team1 = Team.builder().id(1L).name("Team A").members(Set.of()).build();
         Team team2 = Team.builder().id(2L).name("Team B").members(Set.of()).build();
+        TeamRepository.MemberUsername member = mock(TeamRepository.MemberUsername.class);
+        when(member.getTeamId()).thenReturn(2L);
+        when(member.getUsername()).thenReturn("member1");
 
-        when(teamRepository.findAll()).thenReturn(List.of(team1, team2));
+        when(teamRepository.findAllBy(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(team1, team2)));
+        when(teamRepository.findMemberUsernames(List.of(1L, 2L))).thenReturn(List.of(member));
 
-        List<TeamResponse> teams = teamService.getAllTeams();
+        List<TeamResponse> teams = teamService.getAllTeams(0, 20).getContent();
 
         assertEquals(2, teams.size());
         assertEquals("Team A", teams.get(0).getName());
         assertEquals("Team B", teams.get(1).getName());
+        assertEquals(Set.of(), teams.get(0).getMemberUsernames());
+        assertEquals(Set.of("member1"), teams.get(1).getMemberUsernames());
     }
 
     @Test
@@ -136,7 +165,7 @@ class TeamServiceTest {
         when(userRepository.findAllById(Set.of(2L))).thenReturn(List.of(member));
         when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TeamResponse response = teamService.updateTeam(1L, request);
+        TeamResponse response = teamService.updateTeam(1L, request, null);
 
         assertEquals("New Name", response.getName());
         assertEquals("New Desc", response.getDescription());
@@ -145,10 +174,48 @@ class TeamServiceTest {
 
     @Test
     void deleteTeam_shouldCallRepositoryDelete() {
+        when(teamRepository.existsById(1L)).thenReturn(true);
         doNothing().when(teamRepository).deleteById(1L);
 
         teamService.deleteTeam(1L);
 
-        verify(teamRepository).deleteById(1L);
+        InOrder inOrder = inOrder(taskRepository, teamRepository);
+        inOrder.verify(taskRepository).touch(any());
+        inOrder.verify(teamRepository).deleteById(1L);
+        verify(teamTaskCounterRepository).deleteByTeamId(1L);
+        verify(eventPublisher).publishEvent(TeamChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void deleteTeam_shouldThrowForAnUnknownTeam() {
+        when(teamRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> teamService.deleteTeam(1L));
+
+        verify(teamRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getTeamStats_shouldSumCountersByStatusAndPriority() {
+        when(teamRepository.existsById(1L)).thenReturn(true);
+        when(teamTaskCounterRepository.findByTeamId(1L)).thenReturn(List.of(
+                new TeamStatusCount(1L, TaskStatus.NEW, 1, 3L),
+                new TeamStatusCount(1L, TaskStatus.NEW, 2, 2L),
+                new TeamStatusCount(1L, TaskStatus.COMPLETED, 2, 4L)));
+
+        var stats = teamService.getTeamStats(1L);
+
+        assertEquals(9, stats.getTotal());
+        assertEquals(5, stats.getByStatus().get(TaskStatus.NEW));
+        assertEquals(0, stats.getByStatus().get(TaskStatus.REVIEW));
+        assertEquals(6, stats.getByPriority().get(2));
+    }
+
+    @Test
+    void getTeamStats_shouldFailForUnknownTeam() {
+        when(teamRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> teamService.getTeamStats(1L));
     }
 }
@@ -1,12 +1,17 @@
 package com.chyngyz.taskmanager.service;
 
+import com.chyngyz.taskmanager.dto.CursorPage;
+import com.chyngyz.taskmanager.dto.TeamChangedEvent;
+import com.chyngyz.taskmanager.dto.UserChangedEvent;
 import com.chyngyz.taskmanager.dto.UserRequest;
 import com.chyngyz.taskmanager.dto.UserResponse;
 import com.chyngyz.taskmanager.entity.*;
 import com.chyngyz.taskmanager.repository.*;
+import com.chyngyz.taskmanager.security.TokenRevocationList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.*;
@@ -28,6 +33,15 @@ class UserServiceTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private TeamTaskCounterRepository teamTaskCounterRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     @InjectMocks
     private UserService userService;
 
@@ -37,22 +51,28 @@ class UserServiceTest {
     }
 
     @Test
-    void getAllUsers_shouldReturnList() {
-        User user = User.builder()
-                .id(1L)
-                .username("user1")
-                .email("user1@test.com")
-                .firstName("First")
-                .lastName("Last")
-                .role(Role.USER)
-                .build();
+    void getUsers_shouldReturnCursorPage() {
+        UserResponse first = UserResponse.builder().id(1L).username("user1").build();
+        UserResponse second = UserResponse.builder().id(2L).username("user2").build();
 
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findDirectoryPage(eq(0L), any())).thenReturn(List.of(first, second));
 
-        List<UserResponse> result = userService.getAllUsers();
+        CursorPage<UserResponse> result = userService.getUsers(null, null, 1);
 
-        assertEquals(1, result.size());
-        assertEquals("user1", result.get(0).getUsername());
+        assertEquals(1, result.getContent().size());
+        assertEquals("user1", result.getContent().get(0).getUsername());
+        assertTrue(result.isHasNext());
+        assertEquals("1", result.getNextCursor());
+    }
+
+    @Test
+    void getUsers_shouldEscapePrefix() {
+        when(userRepository.findDirectoryPageByPrefix(eq(5L), eq("a\\_b%"), any())).thenReturn(List.of());
+
+        CursorPage<UserResponse> result = userService.getUsers(5L, "A_b", 10);
+
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
     }
 
     @Test
@@ -126,6 +146,26 @@ class UserServiceTest {
         verify(taskRepository).saveAll(any());
         verify(teamRepository).saveAll(any());
         verify(refreshTokenRepository).deleteAllByUser(user);
+        verify(tokenRevocationList).revokeUser(1L);
         verify(userRepository).delete(user);
+        verify(eventPublisher).publishEvent(TeamChangedEvent.updated(1L));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L));
+    }
+
+    @Test
+    void deleteUser_shouldReportTheTeamsTheDeleteCascadesTo() {
+        User user = User.builder().id(1L).username("creator").build();
+        Team created = Team.builder().id(2L).members(new HashSet<>(Set.of(user))).build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(teamRepository.findIdsByCreatedBy(user)).thenReturn(List.of(2L));
+        when(teamRepository.findAllByMembersContains(user)).thenReturn(List.of(created));
+
+        userService.deleteUser(1L);
+
+        verify(taskRepository, times(2)).touch(any());
+        verify(teamTaskCounterRepository).deleteByTeamId(2L);
+        verify(eventPublisher).publishEvent(TeamChangedEvent.deleted(2L));
+        verify(eventPublisher, never()).publishEvent(TeamChangedEvent.updated(2L));
     }
 }
@@ -0,0 +1,42 @@
+package com.chyngyz.taskmanager.service;
+
+import com.chyngyz.taskmanager.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class WebhookDispatcherTest {
+
+    @Test
+    void configureTasks_shouldNotScheduleThePollWithoutEndpoints() {
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        dispatcher(List.of(" ")).configureTasks(registrar);
+
+        assertTrue(registrar.getFixedDelayTaskList().isEmpty());
+    }
+
+    @Test
+    void configureTasks_shouldScheduleThePollWhenAnEndpointIsConfigured() {
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        dispatcher(List.of("http://localhost/hook")).configureTasks(registrar);
+
+        assertEquals(1, registrar.getFixedDelayTaskList().size());
+        assertEquals(Duration.ofSeconds(1), registrar.getFixedDelayTaskList().get(0).getIntervalDuration());
+    }
+
+    private WebhookDispatcher dispatcher(List<String> endpoints) {
+        return new WebhookDispatcher(mock(OutboxMessageRepository.class), mock(TransactionTemplate.class),
+                RestClient.builder(), 100, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                Duration.ofSeconds(1), Duration.ofMinutes(10), Duration.ofSeconds(1), endpoints);
+    }
+}